@@ -44,6 +44,7 @@ export const API_ENDPOINTS = {
   // Repair Items
   REPAIR_ITEMS: {
     BASE: "/repair-items",
+    BATCH: "/repair-items/batch",
     BY_DEVICE: (deviceId: string) => `/repair-items/device/${deviceId}`,
     BY_ID: (id: string) => `/repair-items/${id}`,
     TOTAL_COST: (deviceId: string) =>
@@ -73,10 +74,13 @@ export const API_ENDPOINTS = {
   MEDIA: {
     BASE: "/media",
     UPLOAD: "/media/upload",
+    UPLOAD_BATCH: "/media/upload/batch",
     BY_ID: (id: string) => `/media/${id}`,
     DOWNLOAD: (id: string) => `/media/${id}/download`,
     BY_ENTITY: (entityType: string, entityId: string) =>
       `/media/entity/${entityType}/${entityId}`,
+    EXPORT_BY_ENTITY: (entityType: string, entityId: string) =>
+      `/media/entity/${entityType}/${entityId}/export`,
     BY_ENTITY_AND_TYPE: (
       entityType: string,
       entityId: string,
@@ -16,6 +16,13 @@ export interface PageResponse<T> {
   last: boolean;
 }
 
+export interface CursorResponse<T> {
+  content: T[];
+  size: number;
+  nextCursor?: string;
+  hasNext: boolean;
+}
+
 // User types
 export const Role = {
   ADMIN: "ADMIN",
@@ -112,6 +119,7 @@ export interface Device {
   repairItems?: RepairItem[];
   transaction?: Transaction;
   repairSubtotal?: number;
+  latestFinalAmount?: number;
   outstandingAmount?: number;
 }
 
@@ -253,6 +261,7 @@ export interface Media {
   createdAt: string;
   updatedAt: string;
   url?: string;
+  variants?: Partial<Record<"thumb" | "medium", string>>;
 }
 
 // Realtime Log types
@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Load test for bulk repair item inserts (NOT part of the build, run manually against a scratch database):
+#   TOKEN=<JWT of an ADMIN or TECHNICIAN> DEVICE_ID=<device with a repair session> \
+#     scripts/benchmark/bulk_insert_load.sh
+# Inserts ROWS repair items with one request per row, then the same number through POST /api/repair-items/batch
+# (BATCH_SIZE per request, max 200), and prints rows/sec for both. Compare runs with and without the JDBC batching
+# settings (hibernate.jdbc.batch_size, order_inserts, reWriteBatchedInserts) to see what batching itself buys.
+# Realtime log insertion is measured by the writer: set
+#   logging.level.com.fixsync.server.service.impl.RealtimeLogWriter=DEBUG
+# and read "Wrote N realtime logs in M ms" while devices are being updated.
+set -euo pipefail
+
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+ROWS="${ROWS:-1000}"
+BATCH_SIZE="${BATCH_SIZE:-100}"
+: "${TOKEN:?TOKEN is required}"
+: "${DEVICE_ID:?DEVICE_ID is required}"
+
+item() {
+  printf '{"deviceId":"%s","serviceName":"Load test %s","cost":100000}' "$DEVICE_ID" "$1"
+}
+
+post() {
+  curl -sSf -o /dev/null -X POST "$BASE_URL$1" \
+    -H "Authorization: Bearer $TOKEN" -H "Content-Type: application/json" -d "$2"
+}
+
+# rows, start ns, end ns
+rate() {
+  awk -v rows="$1" -v ns="$(($3 - $2))" \
+    'BEGIN { printf "%d rows in %.2f s: %.0f rows/sec\n", rows, ns / 1e9, rows / (ns / 1e9) }'
+}
+
+start=$(date +%s%N)
+for ((i = 0; i < ROWS; i++)); do
+  post /api/repair-items "$(item "$i")"
+done
+echo -n "one per request: "
+rate "$ROWS" "$start" "$(date +%s%N)"
+
+start=$(date +%s%N)
+for ((i = 0; i < ROWS; i += BATCH_SIZE)); do
+  items=()
+  for ((j = i; j < i + BATCH_SIZE && j < ROWS; j++)); do
+    items+=("$(item "$j")")
+  done
+  post /api/repair-items/batch "{\"items\":[$(IFS=,; echo "${items[*]}")]}"
+done
+echo -n "batch of $BATCH_SIZE:    "
+rate "$ROWS" "$start" "$(date +%s%N)"
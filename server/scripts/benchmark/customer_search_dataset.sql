@@ -0,0 +1,87 @@
+-- Benchmark dataset for /api/customers?search= and /api/customers/suggest (NOT a migration, run manually
+-- on a scratch database after Flyway has migrated it):
+--   psql -d fixsync_bench -f scripts/benchmark/customer_search_dataset.sql
+-- Creates 1,000,000 customers, then prints plans of the search queries as CustomerRepository issues them.
+-- Terms of 3+ characters should show Bitmap Index Scans on the V12 trigram indexes, 1-2 character terms an
+-- Index Scan on idx_customers_name_search_prefix (V20); none of them a Seq Scan on customers.
+-- Target: single-digit ms per query on a warm cache for selective terms. Ranking sorts every match, so
+-- broad terms (a common surname, a 1-2 character prefix) cost in proportion to their match count; the
+-- COUNT plans show that part separately.
+
+\timing on
+
+INSERT INTO customers (id, name, phone, email, name_search, phone_normalized, created_at, updated_at, version)
+SELECT gen_random_uuid(),
+       initcap(n.name),
+       n.phone,
+       CASE WHEN g % 3 = 0 THEN NULL ELSE replace(n.name, ' ', '.') || g || '@bench.local' END,
+       n.name,
+       n.phone,
+       now() - (g || ' seconds')::INTERVAL,
+       now(), 0
+FROM generate_series(1, 1000000) g
+CROSS JOIN LATERAL (
+    SELECT (ARRAY['nguyen', 'tran', 'le', 'pham', 'hoang', 'vu', 'dang', 'bui', 'do', 'ngo'])[1 + g % 10] || ' ' ||
+           (ARRAY['van', 'thi', 'minh', 'quoc', 'thanh', 'duc'])[1 + g / 10 % 6] || ' ' ||
+           (ARRAY['an', 'binh', 'cuong', 'dung', 'giang', 'hai', 'hung', 'khanh', 'linh', 'long',
+                  'mai', 'nam', 'phuong', 'quang', 'son', 'tam', 'trang', 'tuan', 'viet', 'yen'])[1 + g / 60 % 20] ||
+           ' ' || g AS name,
+           '09' || lpad((g * 7919 % 100000000)::text, 8, '0') AS phone
+) n;
+
+ANALYZE customers;
+
+-- Paged search, substring term: trigram match, ranked by word similarity (page 1 of 20)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM customers c
+WHERE c.name_search LIKE CONCAT('%', 'khanh 4567', '%')
+   OR LOWER(c.email) LIKE CONCAT('%', 'khanh 4567', '%')
+   OR ('' <> '' AND c.phone_normalized LIKE CONCAT('%', '', '%'))
+ORDER BY ('' <> '' AND c.phone_normalized LIKE CONCAT('', '%')) DESC,
+         word_similarity('khanh 4567', c.name_search) DESC, c.name_search, c.id
+LIMIT 20;
+
+-- ... its COUNT for the Page total
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM customers c
+WHERE c.name_search LIKE CONCAT('%', 'khanh 4567', '%')
+   OR LOWER(c.email) LIKE CONCAT('%', 'khanh 4567', '%')
+   OR ('' <> '' AND c.phone_normalized LIKE CONCAT('%', '', '%'));
+
+-- Paged search by phone digits
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM customers c
+WHERE c.name_search LIKE CONCAT('%', '0912345', '%')
+   OR LOWER(c.email) LIKE CONCAT('%', '0912345', '%')
+   OR ('0912345' <> '' AND c.phone_normalized LIKE CONCAT('%', '0912345', '%'))
+ORDER BY ('0912345' <> '' AND c.phone_normalized LIKE CONCAT('0912345', '%')) DESC,
+         word_similarity('0912345', c.name_search) DESC, c.name_search, c.id
+LIMIT 20;
+
+-- Type-ahead, 3+ characters: word similarity (typo tolerant) or name prefix
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM customers c
+WHERE 'nguyen van ahn' <% c.name_search
+   OR c.name_search LIKE CONCAT('nguyen van ahn', '%')
+   OR ('' <> '' AND c.phone_normalized LIKE CONCAT('', '%'))
+ORDER BY ('' <> '' AND c.phone_normalized LIKE CONCAT('', '%')) DESC,
+         word_similarity('nguyen van ahn', c.name_search) DESC, c.name_search
+LIMIT 10;
+
+-- Type-ahead, 1-2 characters: no trigram, name prefix on the "C" collation btree
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM customers c
+WHERE c.name_search COLLATE "C" LIKE 'ng' || '%'
+ORDER BY c.name_search COLLATE "C" LIMIT 10;
+
+-- Paged search, 1-2 characters: same index, rows come back in order
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM customers c
+WHERE c.name_search COLLATE "C" LIKE 'ng' || '%'
+ORDER BY c.name_search COLLATE "C", c.id
+LIMIT 20;
+
+-- ... and its COUNT: an index-only range over every name starting with the prefix
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM customers c
+WHERE c.name_search COLLATE "C" LIKE 'ng' || '%';
@@ -0,0 +1,86 @@
+-- Benchmark dataset for /api/devices/search (NOT a migration, run manually on a scratch database
+-- after Flyway has migrated it):
+--   psql -d fixsync_bench -f scripts/benchmark/device_search_dataset.sql
+-- Creates 1,000,000 devices with 1-3 repair sessions each, then prints plans of the search queries.
+-- Every plan should show index scans on the V10/V11 indexes, no Seq Scan on devices / repair_sessions.
+-- The search endpoint returns a Slice (LIMIT size + 1, no COUNT); the COUNT(*) plans at the end show
+-- what a Page would cost on broad filters and why it is not used.
+
+\timing on
+
+INSERT INTO users (id, full_name, email, password_hash, role, is_active, created_at, updated_at, version)
+SELECT ('00000000-0000-0000-0000-0000000010' || lpad(g::text, 2, '0'))::UUID,
+       'Technician ' || g, 'tech' || g || '@bench.local', 'x', 'TECHNICIAN', TRUE, now(), now(), 0
+FROM generate_series(1, 20) g
+ON CONFLICT DO NOTHING;
+
+INSERT INTO devices (id, customer_name, customer_phone, device_type, brand, model, created_by,
+                     created_at, updated_at, version)
+SELECT gen_random_uuid(),
+       (ARRAY['Nguyen', 'Tran', 'Le', 'Pham', 'Hoang', 'Vu', 'Dang', 'Bui'])[1 + g % 8] || ' Van ' || g,
+       '09' || lpad((g * 7919 % 100000000)::text, 8, '0'),
+       (ARRAY['iPhone', 'Android', 'iPad', 'Laptop'])[1 + g % 4],
+       (ARRAY['Apple', 'Samsung', 'Xiaomi', 'Oppo', 'Dell'])[1 + g % 5],
+       'Model ' || (g % 50),
+       '00000000-0000-0000-0000-000000000001'::UUID,
+       now() - (g || ' seconds')::INTERVAL,
+       now(), 0
+FROM generate_series(1, 1000000) g;
+
+INSERT INTO repair_sessions (id, device_id, status, received_date, assigned_to, created_by, created_at, updated_at, version)
+SELECT gen_random_uuid(), d.id,
+       (ARRAY['RECEIVED', 'INSPECTING', 'WAITING_PARTS', 'REPAIRING', 'COMPLETED', 'RETURNED'])[1 + (abs(hashtext(d.id::text)) + s) % 6],
+       d.created_at + (s || ' days')::INTERVAL,
+       ('00000000-0000-0000-0000-0000000010' || lpad((1 + abs(hashtext(d.id::text)) % 20)::text, 2, '0'))::UUID,
+       d.created_by,
+       d.created_at + (s || ' days')::INTERVAL,
+       now(), 0
+FROM devices d
+CROSS JOIN LATERAL generate_series(1, 1 + abs(hashtext(d.id::text)) % 3) s;
+
+ANALYZE users;
+ANALYZE devices;
+ANALYZE repair_sessions;
+
+-- customerName prefix
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT d.* FROM devices d
+WHERE LOWER(d.customer_name) LIKE 'nguyen van 12%' ESCAPE '\'
+ORDER BY d.created_at DESC LIMIT 10;
+
+-- customerPhone prefix
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT d.* FROM devices d
+WHERE d.customer_phone LIKE '0912%' ESCAPE '\'
+ORDER BY d.created_at DESC LIMIT 10;
+
+-- status + assignee of the latest repair session
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT d.* FROM devices d
+WHERE EXISTS (
+    SELECT 1 FROM repair_sessions rs
+    WHERE rs.device_id = d.id
+      AND rs.created_at = (SELECT MAX(rs2.created_at) FROM repair_sessions rs2 WHERE rs2.device_id = d.id)
+      AND rs.status = 'WAITING_PARTS'
+      AND rs.assigned_to = '00000000-0000-0000-0000-000000001007'::UUID)
+ORDER BY d.created_at DESC LIMIT 10;
+
+-- Slice probe as issued by the endpoint (size 10 + 1 row to detect a next page), broad filter
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT d.* FROM devices d
+WHERE d.device_type = 'iPhone'
+ORDER BY d.created_at DESC LIMIT 11;
+
+-- What Page would add: COUNT over ~250k devices of one type
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM devices d
+WHERE d.device_type = 'iPhone';
+
+-- ... and over the latest-session status filter, one correlated EXISTS per device
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM devices d
+WHERE EXISTS (
+    SELECT 1 FROM repair_sessions rs
+    WHERE rs.device_id = d.id
+      AND rs.created_at = (SELECT MAX(rs2.created_at) FROM repair_sessions rs2 WHERE rs2.device_id = d.id)
+      AND rs.status = 'WAITING_PARTS');
@@ -0,0 +1,95 @@
+package com.fixsync.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT work of JwtAuthenticationFilter, before and after user-004.
+ * <ul>
+ *   <li>{@code rebuildKeyAndParseThreeTimes}: the old JwtUtil, where every claim lookup built a new HMAC key and
+ *   parser, and the filter called extractUsername, then validateToken (extractUsername + extractExpiration)</li>
+ *   <li>{@code prebuiltParserParseOnce}: the current JwtUtil.parseToken, one parse with the key and parser built
+ *   at startup, expiration checked by the parser</li>
+ * </ul>
+ * Both bodies mirror JwtUtil line for line rather than depending on the server jar, so the module builds alone.
+ * Run with {@code -t 8} (or the server's request thread count) to also see the allocation pressure under load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class JwtParseBenchmark {
+
+    // jwt.secret of application.yml
+    private static final String SECRET = "your-secret-key-should-be-at-least-256-bits-long-for-HS256-algorithm-please-change-this-in-production";
+    private static final String SUBJECT = "technician@fixsync.local";
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        // Same shape as JwtUtil.generateToken: uid + role claims, 24 h expiration
+        long now = System.currentTimeMillis();
+        token = Jwts.builder()
+                .claim("uid", UUID.randomUUID().toString())
+                .claim("role", "TECHNICIAN")
+                .subject(SUBJECT)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + 86_400_000L))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    @Benchmark
+    public boolean rebuildKeyAndParseThreeTimes() {
+        String username = legacyClaims(token).getSubject();
+        // validateToken(token, userDetails)
+        boolean valid = legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+        return valid;
+    }
+
+    @Benchmark
+    public boolean prebuiltParserParseOnce() {
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        String userId = claims.get("uid", String.class);
+        String role = claims.get("role", String.class);
+        return SUBJECT.equals(claims.getSubject())
+                && UUID.fromString(userId) != null
+                && role != null;
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,85 @@
+-- Benchmark UUIDv4 vs UUIDv7 primary keys on a realtime_logs sized load (NOT a migration, run manually on a
+-- scratch database after Flyway has migrated it; needs pgstattuple, i.e. a superuser or pg_stat_scan_tables):
+--   psql -d fixsync_bench -f scripts/benchmark/uuid_v7_realtime_logs.sql
+-- Loads 10,000,000 rows into two copies of the realtime_logs columns and primary key (id, created_at), one with
+-- random ids (gen_random_uuid, what Hibernate's UUIDGenerator produced) and one with time-ordered ids laid out
+-- like UuidV7. Compare the INSERT timings, then the index size / leaf density / fragmentation printed at the end.
+-- Expect the v7 index to be noticeably smaller and denser (rightmost-leaf appends instead of random page splits),
+-- and id correlation close to 1 (keyset order on id = insertion order). Run with shared_buffers well below the
+-- index size to see the cache effect of random inserts.
+
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pgstattuple;
+
+-- Same bit layout as UuidV7: 48-bit Unix milliseconds, version 7, random rest (no counter, one row per ms here)
+CREATE OR REPLACE FUNCTION pg_temp.uuid_v7(ts TIMESTAMP)
+RETURNS UUID AS $$
+    SELECT encode(set_bit(set_bit(
+               overlay(uuid_send(gen_random_uuid())
+                       PLACING substring(int8send((extract(epoch FROM ts) * 1000)::BIGINT) FROM 3)
+                       FROM 1 FOR 6),
+               52, 1), 53, 1), 'hex')::UUID;
+$$ LANGUAGE sql VOLATILE;
+
+DROP TABLE IF EXISTS bench_logs_v4;
+DROP TABLE IF EXISTS bench_logs_v7;
+
+CREATE TABLE bench_logs_v4 (
+    id UUID NOT NULL,
+    device_id UUID NOT NULL,
+    action VARCHAR(50) NOT NULL,
+    detail TEXT,
+    created_by UUID NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT bench_logs_v4_pkey PRIMARY KEY (id, created_at)
+);
+
+CREATE TABLE bench_logs_v7 (LIKE bench_logs_v4 INCLUDING DEFAULTS);
+ALTER TABLE bench_logs_v7 ADD CONSTRAINT bench_logs_v7_pkey PRIMARY KEY (id, created_at);
+
+-- Random ids
+INSERT INTO bench_logs_v4 (id, device_id, action, detail, created_by, created_at, updated_at)
+SELECT gen_random_uuid(),
+       ('00000000-0000-0000-0000-' || lpad((g % 100000)::text, 12, '0'))::UUID,
+       (ARRAY['CREATED', 'UPDATED', 'ASSIGNED', 'STATUS_CHANGED'])[1 + g % 4],
+       'Thiết bị được cập nhật',
+       '00000000-0000-0000-0000-000000000001'::UUID,
+       TIMESTAMP '2025-01-01' + (g || ' milliseconds')::INTERVAL,
+       TIMESTAMP '2025-01-01' + (g || ' milliseconds')::INTERVAL
+FROM generate_series(1, 10000000) g;
+
+-- Time-ordered ids, same rows
+INSERT INTO bench_logs_v7 (id, device_id, action, detail, created_by, created_at, updated_at)
+SELECT pg_temp.uuid_v7(TIMESTAMP '2025-01-01' + (g || ' milliseconds')::INTERVAL),
+       ('00000000-0000-0000-0000-' || lpad((g % 100000)::text, 12, '0'))::UUID,
+       (ARRAY['CREATED', 'UPDATED', 'ASSIGNED', 'STATUS_CHANGED'])[1 + g % 4],
+       'Thiết bị được cập nhật',
+       '00000000-0000-0000-0000-000000000001'::UUID,
+       TIMESTAMP '2025-01-01' + (g || ' milliseconds')::INTERVAL,
+       TIMESTAMP '2025-01-01' + (g || ' milliseconds')::INTERVAL
+FROM generate_series(1, 10000000) g;
+
+ANALYZE bench_logs_v4;
+ANALYZE bench_logs_v7;
+
+SELECT index_name,
+       pg_size_pretty(pg_relation_size(index_name::regclass)) AS index_size,
+       s.avg_leaf_density,
+       s.leaf_fragmentation
+FROM unnest(ARRAY['bench_logs_v4_pkey', 'bench_logs_v7_pkey']) AS index_name
+CROSS JOIN LATERAL pgstatindex(index_name) s;
+
+-- 1 = physical row order follows id order
+SELECT tablename, correlation
+FROM pg_stats
+WHERE tablename IN ('bench_logs_v4', 'bench_logs_v7') AND attname = 'id';
+
+-- Keyset page on id: v7 reads the newest rows from the end of the index
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_logs_v7 ORDER BY id DESC LIMIT 50;
+
+DROP TABLE bench_logs_v4;
+DROP TABLE bench_logs_v7;
@@ -1,5 +1,6 @@
 package com.fixsync.server.config;
 
+import com.fixsync.server.entity.enums.MediaType;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -18,8 +19,13 @@ public class FileStorageConfig {
     private String storageType = "local"; // local or s3
     private String dir = "./uploads";
     private Long maxSize = 10485760L; // 10MB default
+    private Long maxVideoSize = 2147483648L; // 2GB, videos are streamed to storage (never buffered whole)
+    private Long presignExpirationMinutes = 15L; // lifetime of presigned upload URLs
+    private int maxBatchFiles = 20; // files per bulk upload request
+    private int batchUploadWorkers = 4; // concurrent storage writes across all bulk uploads
     private List<String> allowedTypes = List.of(
             "image/jpeg", "image/png", "image/gif", "image/webp",
+            "video/mp4", "video/quicktime", "video/webm",
             "application/pdf",
             "application/msword",
             "application/vnd.openxmlformats-officedocument.wordprocessingml.document"
@@ -29,6 +35,25 @@ public class FileStorageConfig {
         return Paths.get(dir).toAbsolutePath().normalize();
     }
     
+    private LocalProperties local = new LocalProperties();
+    
+    @Getter
+    @Setter
+    public static class LocalProperties {
+        private FsyncPolicy fsync = FsyncPolicy.FILE;
+        private long minFreeBytes = 1073741824L; // 1GB; uploads are refused and health is down below this
+    }
+    
+    public enum FsyncPolicy {
+        NONE,               // rely on the OS page cache
+        FILE,               // fsync file content before it is moved into place
+        FILE_AND_DIRECTORY  // also fsync the directory so the rename survives a crash
+    }
+    
+    public long getMaxSizeFor(MediaType mediaType) {
+        return mediaType == MediaType.VIDEO ? maxVideoSize : maxSize;
+    }
+    
     public boolean isS3Storage() {
         return "s3".equalsIgnoreCase(storageType);
     }
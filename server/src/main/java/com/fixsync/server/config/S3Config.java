@@ -10,8 +10,12 @@ import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
+import java.net.URI;
+
 @Configuration
 @ConfigurationProperties(prefix = "aws")
 @Getter
@@ -23,10 +27,19 @@ public class S3Config {
     private String accessKeyId;
     private String secretAccessKey;
     
+    // Optional S3-compatible endpoint (e.g. MinIO: http://localhost:9000), uses path-style URLs
+    private String endpoint;
+    
     @Getter
     @Setter
     public static class S3Properties {
         private String bucket;
+        private int partSize = 8 * 1024 * 1024; // multipart part size, S3 minimum is 5MB
+        private int maxBufferedParts = 8; // parts held in memory across all uploads (heap = partSize * this)
+        private int partMaxAttempts = 3;
+        private boolean presignedUrls = false; // private bucket: hand out presigned GET URLs instead of object URLs
+        private long presignedUrlMinutes = 60;
+        private int presignedUrlCacheSize = 10000;
     }
     
     @Bean
@@ -41,10 +54,14 @@ public class S3Config {
         
         AwsBasicCredentials awsCreds = AwsBasicCredentials.create(accessKeyId, secretAccessKey);
         
-        return S3Client.builder()
+        S3ClientBuilder builder = S3Client.builder()
                 .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(awsCreds))
-                .build();
+                .credentialsProvider(StaticCredentialsProvider.create(awsCreds));
+        if (hasEndpoint()) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .serviceConfiguration(pathStyleConfiguration());
+        }
+        return builder.build();
     }
     
     @Bean
@@ -56,14 +73,28 @@ public class S3Config {
         
         AwsBasicCredentials awsCreds = AwsBasicCredentials.create(accessKeyId, secretAccessKey);
         
-        return S3Presigner.builder()
+        S3Presigner.Builder builder = S3Presigner.builder()
                 .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(awsCreds))
-                .build();
+                .credentialsProvider(StaticCredentialsProvider.create(awsCreds));
+        if (hasEndpoint()) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .serviceConfiguration(pathStyleConfiguration());
+        }
+        return builder.build();
     }
     
     public String getBucketName() {
         return s3 != null ? s3.getBucket() : null;
     }
+    
+    public boolean hasEndpoint() {
+        return endpoint != null && !endpoint.isBlank();
+    }
+    
+    private S3Configuration pathStyleConfiguration() {
+        return S3Configuration.builder()
+                .pathStyleAccessEnabled(true)
+                .build();
+    }
 }
 
@@ -4,6 +4,9 @@ import com.fixsync.server.dto.response.ApiResponse;
 import com.fixsync.server.dto.response.BrandResponse;
 import com.fixsync.server.dto.response.PageResponse;
 import com.fixsync.server.service.BrandService;
+import com.fixsync.server.util.CatalogEtag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,7 +26,11 @@ public class BrandController {
     private final BrandService brandService;
     
     @GetMapping("/active")
-    public ResponseEntity<ApiResponse<List<BrandResponse>>> getActiveBrands() {
+    public ResponseEntity<ApiResponse<List<BrandResponse>>> getActiveBrands(HttpServletRequest httpRequest,
+                                                                            HttpServletResponse httpResponse) {
+        if (CatalogEtag.checkNotModified(brandService.getCatalogVersion(), httpRequest, httpResponse)) {
+            return null; // 304 Not Modified
+        }
         List<BrandResponse> brands = brandService.getAllActiveBrands();
         return ResponseEntity.ok(ApiResponse.success(brands));
     }
@@ -33,8 +40,13 @@ public class BrandController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDir) {
+            @RequestParam(defaultValue = "ASC") String sortDir,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) {
         
+        if (CatalogEtag.checkNotModified(brandService.getCatalogVersion(), httpRequest, httpResponse)) {
+            return null; // 304 Not Modified
+        }
         Sort sort = sortDir.equalsIgnoreCase("DESC") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
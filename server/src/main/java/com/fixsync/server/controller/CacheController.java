@@ -0,0 +1,32 @@
+package com.fixsync.server.controller;
+
+import com.fixsync.server.dto.response.ApiResponse;
+import com.fixsync.server.dto.response.CacheStatsResponse;
+import com.fixsync.server.service.CatalogCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class CacheController {
+    
+    private final CatalogCacheService catalogCacheService;
+    
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<List<CacheStatsResponse>>> getStats() {
+        List<CacheStatsResponse> response = catalogCacheService.getStats();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<Void>> evictAll() {
+        catalogCacheService.evictAll();
+        return ResponseEntity.ok(ApiResponse.success("Đã xóa bộ nhớ đệm danh mục", null));
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -24,6 +25,9 @@ public class CustomerController {
 
     private final CustomerService customerService;
 
+    /**
+     * Customer list; with {@code search} the matches are ranked by relevance and sortBy/sortDir are ignored
+     */
     @PreAuthorize("isAuthenticated()")
     @GetMapping
     public ResponseEntity<ApiResponse<PageResponse<CustomerResponse>>> getCustomers(
@@ -40,6 +44,19 @@ public class CustomerController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    /**
+     * Type-ahead for the customer picker: top matches by phone prefix / name similarity (accent-insensitive)
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<CustomerResponse>>> suggestCustomers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<CustomerResponse> response = customerService.suggestCustomers(q, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<CustomerResponse>> getCustomerById(@PathVariable UUID id) {
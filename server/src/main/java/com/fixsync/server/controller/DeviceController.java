@@ -1,7 +1,9 @@
 package com.fixsync.server.controller;
 
 import com.fixsync.server.dto.request.DeviceRequest;
+import com.fixsync.server.dto.request.DeviceSearchRequest;
 import com.fixsync.server.dto.response.ApiResponse;
+import com.fixsync.server.dto.response.CursorResponse;
 import com.fixsync.server.dto.response.DeviceResponse;
 import com.fixsync.server.dto.response.PageResponse;
 import com.fixsync.server.service.DeviceService;
@@ -16,6 +18,7 @@ import com.fixsync.server.service.UserContextService;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -45,6 +48,28 @@ public class DeviceController {
         return ResponseEntity.ok(ApiResponse.success("Cập nhật thiết bị thành công", response));
     }
     
+    /**
+     * Search devices: customerName/customerPhone (prefix), deviceType, brand, createdById,
+     * status/assignedToId (of the latest repair session).
+     * No totalElements/totalPages: matches are not counted, use last to detect the final page
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<PageResponse<DeviceResponse>>> searchDevices(
+            @ModelAttribute DeviceSearchRequest request,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false) Set<String> include) {
+        
+        Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+        
+        PageResponse<DeviceResponse> response = deviceService.searchDevices(request, pageable, include);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<DeviceResponse>> getDeviceById(@PathVariable UUID id) {
@@ -54,16 +79,26 @@ public class DeviceController {
     
     @PreAuthorize("isAuthenticated()")
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<DeviceResponse>>> getAllDevices(
+    public ResponseEntity<ApiResponse<?>> getAllDevices(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false) Set<String> include,
+            @RequestParam(required = false, defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after) {
+        
+        // Cursor mode: newest first by (createdAt, id), no count query; sortBy/sortDir are ignored
+        if (cursor || after != null) {
+            CursorResponse<DeviceResponse> response = deviceService.getAllDevices(after, size, include);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        }
         
         Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        PageResponse<DeviceResponse> response = deviceService.getAllDevices(pageable);
+        // include=repairItems,transaction expands the list items; totals are always returned
+        PageResponse<DeviceResponse> response = deviceService.getAllDevices(pageable, include);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
@@ -4,6 +4,9 @@ import com.fixsync.server.dto.response.ApiResponse;
 import com.fixsync.server.dto.response.DeviceModelResponse;
 import com.fixsync.server.dto.response.PageResponse;
 import com.fixsync.server.service.DeviceModelService;
+import com.fixsync.server.util.CatalogEtag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -29,8 +32,13 @@ public class DeviceModelController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDir) {
+            @RequestParam(defaultValue = "ASC") String sortDir,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) {
         
+        if (CatalogEtag.checkNotModified(deviceModelService.getCatalogVersion(), httpRequest, httpResponse)) {
+            return null; // 304 Not Modified
+        }
         if (paginated) {
             Sort sort = sortDir.equalsIgnoreCase("DESC") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
             Pageable pageable = PageRequest.of(page, size, sort);
@@ -43,7 +51,13 @@ public class DeviceModelController {
     }
     
     @GetMapping("/device-type/{deviceType}")
-    public ResponseEntity<ApiResponse<List<DeviceModelResponse>>> getModelsByDeviceType(@PathVariable String deviceType) {
+    public ResponseEntity<ApiResponse<List<DeviceModelResponse>>> getModelsByDeviceType(
+            @PathVariable String deviceType,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) {
+        if (CatalogEtag.checkNotModified(deviceModelService.getCatalogVersion(), httpRequest, httpResponse)) {
+            return null; // 304 Not Modified
+        }
         List<DeviceModelResponse> models = deviceModelService.getModelsByDeviceType(deviceType);
         return ResponseEntity.ok(ApiResponse.success(models));
     }
@@ -1,23 +1,47 @@
 package com.fixsync.server.controller;
 
+import com.fixsync.server.dto.request.FinalizeUploadRequest;
+import com.fixsync.server.dto.request.PresignedUploadRequest;
 import com.fixsync.server.dto.response.ApiResponse;
+import com.fixsync.server.dto.response.BulkUploadResponse;
+import com.fixsync.server.dto.response.CursorResponse;
+import com.fixsync.server.dto.response.MediaDedupStatsResponse;
+import com.fixsync.server.dto.response.MediaDownload;
 import com.fixsync.server.dto.response.MediaResponse;
 import com.fixsync.server.dto.response.PageResponse;
+import com.fixsync.server.dto.response.PresignedUploadResponse;
+import com.fixsync.server.dto.response.StorageHealthResponse;
+import com.fixsync.server.dto.response.StorageReconcileResponse;
 import com.fixsync.server.entity.enums.EntityType;
 import com.fixsync.server.entity.enums.MediaType;
 import com.fixsync.server.service.MediaService;
 import com.fixsync.server.service.UserContextService;
+import com.fixsync.server.util.DownloadRange;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,6 +50,13 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class MediaController {
     
+    private static final CacheControl DOWNLOAD_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(1)).cachePrivate();
+    
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+    
     private final MediaService mediaService;
     private final UserContextService userContextService;
     
@@ -44,16 +75,87 @@ public class MediaController {
                 .body(ApiResponse.success("Upload file thành công", response));
     }
     
-    @GetMapping("/{id}/download")
-    public ResponseEntity<Resource> downloadFile(@PathVariable UUID id) {
-        Resource resource = mediaService.downloadFile(id);
-        MediaResponse media = mediaService.getMediaById(id);
+    /**
+     * Several files in one multipart request (intake photos), all parts use the same mediaType and entity
+     */
+    @PostMapping("/upload/batch")
+    public ResponseEntity<ApiResponse<BulkUploadResponse>> uploadFiles(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam("mediaType") MediaType mediaType,
+            @RequestParam(required = false) EntityType entityType,
+            @RequestParam(required = false) UUID entityId,
+            @RequestParam(required = false) String description) {
+        
+        UUID uploadedById = userContextService.getCurrentUserId();
+        BulkUploadResponse response = mediaService.uploadFiles(files, mediaType, entityType, entityId, description, uploadedById);
         
-        return ResponseEntity.ok()
-                .contentType(org.springframework.http.MediaType.parseMediaType(media.getContentType()))
-                .header(HttpHeaders.CONTENT_DISPOSITION, 
-                        "attachment; filename=\"" + media.getOriginalFilename() + "\"")
-                .body(resource);
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status)
+                .body(ApiResponse.success("Upload " + response.getSucceeded() + "/" + response.getTotal() + " file thành công", response));
+    }
+    
+    /**
+     * Raw-body upload for large files (repair videos): the body is streamed to storage as it arrives
+     * instead of being parsed as multipart first
+     */
+    @PostMapping("/upload/stream")
+    public ResponseEntity<ApiResponse<MediaResponse>> uploadStream(
+            @RequestParam("filename") String filename,
+            @RequestParam("mediaType") MediaType mediaType,
+            @RequestParam(required = false) EntityType entityType,
+            @RequestParam(required = false) UUID entityId,
+            @RequestParam(required = false) String description,
+            HttpServletRequest request) throws IOException {
+        
+        UUID uploadedById = userContextService.getCurrentUserId();
+        MediaResponse response = mediaService.uploadStream(request.getInputStream(), request.getContentLengthLong(),
+                baseContentType(request.getContentType()), filename, mediaType, entityType, entityId,
+                description, uploadedById);
+        
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Upload file thành công", response));
+    }
+    
+    /**
+     * Direct-to-S3 upload, step 1: returns a presigned PUT URL, the file bytes never pass through the server
+     */
+    @PostMapping("/presign")
+    public ResponseEntity<ApiResponse<PresignedUploadResponse>> createPresignedUpload(
+            @Valid @RequestBody PresignedUploadRequest request) {
+        PresignedUploadResponse response = mediaService.createPresignedUpload(request);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    /**
+     * Direct-to-S3 upload, step 2: verifies the uploaded object and creates the media record
+     */
+    @PostMapping("/finalize")
+    public ResponseEntity<ApiResponse<MediaResponse>> finalizeUpload(
+            @Valid @RequestBody FinalizeUploadRequest request) {
+        UUID uploadedById = userContextService.getCurrentUserId();
+        MediaResponse response = mediaService.finalizeUpload(request, uploadedById);
+        
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Upload file thành công", response));
+    }
+    
+    /**
+     * Download with one metadata lookup: ETag/Last-Modified (304), byte ranges for VIDEO/AUDIO,
+     * local files sent zero-copy through Tomcat sendfile when available (buffered copy otherwise)
+     */
+    @GetMapping("/{id}/download")
+    public void downloadFile(@PathVariable UUID id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        writeDownload(mediaService.getDownload(id), request, response);
+    }
+    
+    /**
+     * Downscaled derivative (thumb, medium) of an IMAGE, same caching rules as the original
+     */
+    @GetMapping("/{id}/variants/{variant}")
+    public void downloadVariant(@PathVariable UUID id, @PathVariable String variant,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        writeDownload(mediaService.getVariantDownload(id, variant), request, response);
     }
     
     @GetMapping("/{id}")
@@ -70,8 +172,14 @@ public class MediaController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false, defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after) {
         
+        if (cursor || after != null) {
+            CursorResponse<MediaResponse> response = mediaService.getMediaByEntity(entityType, entityId, after, size);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        }
         if (paginated) {
             Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
             Pageable pageable = PageRequest.of(page, size, sort);
@@ -83,6 +191,22 @@ public class MediaController {
         }
     }
     
+    /**
+     * All active media of the entity as one ZIP, streamed as it is built (no Content-Length)
+     */
+    @GetMapping("/entity/{entityType}/{entityId}/export")
+    public void exportEntityMedia(@PathVariable EntityType entityType, @PathVariable UUID entityId,
+                                  HttpServletResponse response) throws IOException {
+        List<MediaDownload> downloads = mediaService.getEntityDownloads(entityType, entityId);
+        
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(entityType.name().toLowerCase() + "-" + entityId + ".zip")
+                .build()
+                .toString());
+        mediaService.writeArchive(downloads, response.getOutputStream());
+    }
+    
     @GetMapping("/entity/{entityType}/{entityId}/type/{mediaType}")
     public ResponseEntity<ApiResponse<List<MediaResponse>>> getMediaByEntityAndType(
             @PathVariable EntityType entityType,
@@ -94,13 +218,19 @@ public class MediaController {
     }
     
     @GetMapping("/my-uploads")
-    public ResponseEntity<ApiResponse<PageResponse<MediaResponse>>> getMyUploads(
+    public ResponseEntity<ApiResponse<?>> getMyUploads(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false, defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after) {
         
         UUID uploadedById = userContextService.getCurrentUserId();
+        if (cursor || after != null) {
+            CursorResponse<MediaResponse> response = mediaService.getMediaByUploader(uploadedById, after, size);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        }
         Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
@@ -109,11 +239,18 @@ public class MediaController {
     }
     
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<MediaResponse>>> getAllMedia(
+    public ResponseEntity<ApiResponse<?>> getAllMedia(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false, defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after) {
+        
+        if (cursor || after != null) {
+            CursorResponse<MediaResponse> response = mediaService.getAllMedia(after, size);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        }
         
         Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -122,10 +259,87 @@ public class MediaController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
+    @GetMapping("/stats/dedup")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<MediaDedupStatsResponse>> getDedupStats() {
+        MediaDedupStatsResponse response = mediaService.getDedupStats();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @GetMapping("/storage/health")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<StorageHealthResponse>> getStorageHealth() {
+        StorageHealthResponse response = mediaService.getStorageHealth();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @PostMapping("/storage/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<StorageReconcileResponse>> reconcileStorage() {
+        StorageReconcileResponse response = mediaService.reconcileStorage();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteMedia(@PathVariable UUID id) {
         mediaService.deleteMedia(id);
         return ResponseEntity.ok(ApiResponse.success("Xóa file thành công", null));
     }
+    
+    private void writeDownload(MediaDownload download, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, DOWNLOAD_CACHE_CONTROL.getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(download.getEtag(), download.getLastModified())) {
+            return; // 304 Not Modified
+        }
+        
+        DownloadRange range = DownloadRange.resolve(download, request, response);
+        if (range == null) {
+            return; // 416 Range Not Satisfiable
+        }
+        
+        long length = range.getLength();
+        response.setContentType(download.getContentType());
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(download.getOriginalFilename(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) {
+            return;
+        }
+        if (download.getLocalPath() != null) {
+            sendLocalFile(download.getLocalPath(), range, request, response);
+        } else {
+            try (InputStream inputStream = mediaService.openRange(download, range.getStart(), range.getEnd())) {
+                StreamUtils.copyRange(inputStream, response.getOutputStream(), 0, length - 1);
+            }
+        }
+    }
+    
+    private void sendLocalFile(Path path, DownloadRange range, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        // Let Tomcat stream the file with sendfile(2) once the request returns
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, range.getStart());
+            request.setAttribute(SENDFILE_END_ATTR, range.getEnd() + 1);
+            return;
+        }
+        // No sendfile (other container, TLS without APR): a plain buffered copy, the servlet
+        // output stream offers no channel to transfer into
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            StreamUtils.copyRange(inputStream, response.getOutputStream(), range.getStart(), range.getEnd());
+        }
+    }
+    
+    private static String baseContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        // Drop parameters such as "; charset=..."
+        int separator = contentType.indexOf(';');
+        return (separator >= 0 ? contentType.substring(0, separator) : contentType).trim().toLowerCase();
+    }
 }
-
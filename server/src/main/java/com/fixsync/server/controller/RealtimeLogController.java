@@ -1,16 +1,20 @@
 package com.fixsync.server.controller;
 
 import com.fixsync.server.dto.response.ApiResponse;
+import com.fixsync.server.dto.response.CursorResponse;
 import com.fixsync.server.dto.response.PageResponse;
 import com.fixsync.server.dto.response.RealtimeLogResponse;
 import com.fixsync.server.entity.enums.ActionType;
 import com.fixsync.server.service.RealtimeLogService;
+import com.fixsync.server.service.RealtimeLogStreamService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,6 +25,26 @@ import java.util.UUID;
 public class RealtimeLogController {
     
     private final RealtimeLogService realtimeLogService;
+    private final RealtimeLogStreamService realtimeLogStreamService;
+    
+    /**
+     * Shop-wide log stream (Server-Sent Events)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLogs(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return realtimeLogStreamService.subscribe(null, lastEventId);
+    }
+    
+    /**
+     * Log stream of a single device (Server-Sent Events)
+     */
+    @GetMapping(value = "/device/{deviceId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLogsByDeviceId(
+            @PathVariable UUID deviceId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return realtimeLogStreamService.subscribe(deviceId, lastEventId);
+    }
     
     @GetMapping("/device/{deviceId}")
     public ResponseEntity<?> getLogsByDeviceId(
@@ -30,8 +54,14 @@ public class RealtimeLogController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false, defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after) {
         
+        if (cursor || after != null) {
+            CursorResponse<RealtimeLogResponse> response = realtimeLogService.getLogsByDeviceId(deviceId, after, size);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        }
         if (paginated) {
             Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
             Pageable pageable = PageRequest.of(page, size, sort);
@@ -1,5 +1,6 @@
 package com.fixsync.server.controller;
 
+import com.fixsync.server.dto.request.RepairItemBatchRequest;
 import com.fixsync.server.dto.request.RepairItemRequest;
 import com.fixsync.server.dto.response.ApiResponse;
 import com.fixsync.server.dto.response.PageResponse;
@@ -34,6 +35,18 @@ public class RepairItemController {
                 .body(ApiResponse.success("Tạo dịch vụ sửa chữa thành công", response));
     }
     
+    /**
+     * Several repair items in one transaction (all or nothing), inserted as JDBC batches
+     */
+    @PreAuthorize("hasAnyRole('ADMIN','TECHNICIAN')")
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<RepairItemResponse>>> createRepairItems(
+            @Valid @RequestBody RepairItemBatchRequest request) {
+        List<RepairItemResponse> response = repairItemService.createRepairItems(request.getItems());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Tạo dịch vụ sửa chữa thành công", response));
+    }
+    
     @PreAuthorize("hasAnyRole('ADMIN','TECHNICIAN')")
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<RepairItemResponse>> updateRepairItem(
@@ -2,6 +2,7 @@ package com.fixsync.server.controller;
 
 import com.fixsync.server.dto.request.RepairSessionRequest;
 import com.fixsync.server.dto.response.ApiResponse;
+import com.fixsync.server.dto.response.CursorResponse;
 import com.fixsync.server.dto.response.PageResponse;
 import com.fixsync.server.dto.response.RepairSessionResponse;
 import com.fixsync.server.service.RepairSessionService;
@@ -54,13 +55,22 @@ public class RepairSessionController {
 
     @PreAuthorize("isAuthenticated()")
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<RepairSessionResponse>>> getAllSessions(
+    public ResponseEntity<ApiResponse<?>> getAllSessions(
             @RequestParam(required = false) UUID deviceId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false, defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after
     ) {
+        if (cursor || after != null) {
+            CursorResponse<RepairSessionResponse> response = deviceId != null
+                    ? repairSessionService.getSessionsByDevice(deviceId, after, size)
+                    : repairSessionService.getAllSessions(after, size);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        }
+
         Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
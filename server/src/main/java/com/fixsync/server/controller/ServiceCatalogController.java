@@ -5,6 +5,9 @@ import com.fixsync.server.dto.response.ApiResponse;
 import com.fixsync.server.dto.response.PageResponse;
 import com.fixsync.server.dto.response.ServiceCatalogResponse;
 import com.fixsync.server.service.ServiceCatalogService;
+import com.fixsync.server.util.CatalogEtag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -53,8 +56,13 @@ public class ServiceCatalogController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDir) {
+            @RequestParam(defaultValue = "ASC") String sortDir,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) {
 
+        if (CatalogEtag.checkNotModified(serviceCatalogService.getCatalogVersion(), httpRequest, httpResponse)) {
+            return null; // 304 Not Modified
+        }
         Sort sort = sortDir.equalsIgnoreCase("DESC") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         PageResponse<ServiceCatalogResponse> response = serviceCatalogService.getAll(pageable);
@@ -62,11 +70,26 @@ public class ServiceCatalogController {
     }
 
     @GetMapping("/active")
-    public ResponseEntity<ApiResponse<List<ServiceCatalogResponse>>> getActive() {
+    public ResponseEntity<ApiResponse<List<ServiceCatalogResponse>>> getActive(HttpServletRequest httpRequest,
+                                                                               HttpServletResponse httpResponse) {
+        if (CatalogEtag.checkNotModified(serviceCatalogService.getCatalogVersion(), httpRequest, httpResponse)) {
+            return null; // 304 Not Modified
+        }
         List<ServiceCatalogResponse> response = serviceCatalogService.getActive();
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    /**
+     * Type-ahead for the repair item form: active services by name prefix (case- and accent-insensitive)
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<ServiceCatalogResponse>>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ServiceCatalogResponse> response = serviceCatalogService.suggest(q, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> delete(@PathVariable UUID id) {
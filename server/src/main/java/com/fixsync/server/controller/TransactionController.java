@@ -2,6 +2,7 @@ package com.fixsync.server.controller;
 
 import com.fixsync.server.dto.request.TransactionRequest;
 import com.fixsync.server.dto.response.ApiResponse;
+import com.fixsync.server.dto.response.CursorResponse;
 import com.fixsync.server.dto.response.PageResponse;
 import com.fixsync.server.dto.response.TransactionResponse;
 import com.fixsync.server.service.TransactionService;
@@ -45,11 +46,18 @@ public class TransactionController {
     
     @PreAuthorize("isAuthenticated()")
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<TransactionResponse>>> getAllTransactions(
+    public ResponseEntity<ApiResponse<?>> getAllTransactions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false, defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after) {
+        
+        if (cursor || after != null) {
+            CursorResponse<TransactionResponse> response = transactionService.getAllTransactions(after, size);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        }
         
         Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -0,0 +1,34 @@
+package com.fixsync.server.dto.request;
+
+import com.fixsync.server.entity.enums.EntityType;
+import com.fixsync.server.entity.enums.MediaType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinalizeUploadRequest {
+    @NotBlank(message = "Key không được để trống")
+    @Size(max = 500, message = "Key không được vượt quá 500 ký tự")
+    private String key;
+    
+    @NotBlank(message = "Tên file không được để trống")
+    @Size(max = 255, message = "Tên file không được vượt quá 255 ký tự")
+    private String originalFilename;
+    
+    @NotNull(message = "Loại media không được để trống")
+    private MediaType mediaType;
+    
+    private EntityType entityType;
+    
+    private UUID entityId;
+    
+    private String description;
+}
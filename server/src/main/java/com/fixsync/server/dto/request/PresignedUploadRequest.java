@@ -0,0 +1,36 @@
+package com.fixsync.server.dto.request;
+
+import com.fixsync.server.entity.enums.EntityType;
+import com.fixsync.server.entity.enums.MediaType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresignedUploadRequest {
+    @NotBlank(message = "Tên file không được để trống")
+    @Size(max = 255, message = "Tên file không được vượt quá 255 ký tự")
+    private String originalFilename;
+    
+    @NotBlank(message = "Loại nội dung không được để trống")
+    private String contentType;
+    
+    @NotNull(message = "Kích thước file không được để trống")
+    @Positive(message = "Kích thước file phải lớn hơn 0")
+    private Long fileSize;
+    
+    @NotNull(message = "Loại media không được để trống")
+    private MediaType mediaType;
+    
+    private EntityType entityType;
+    
+    private UUID entityId;
+}
@@ -0,0 +1,19 @@
+package com.fixsync.server.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepairItemBatchRequest {
+    @NotEmpty(message = "Danh sách dịch vụ sửa chữa không được để trống")
+    @Size(max = 200, message = "Tối đa 200 dịch vụ sửa chữa mỗi lần")
+    private List<@Valid RepairItemRequest> items;
+}
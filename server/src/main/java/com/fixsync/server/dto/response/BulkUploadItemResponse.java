@@ -0,0 +1,18 @@
+package com.fixsync.server.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUploadItemResponse {
+    private int index;
+    private String originalFilename;
+    private boolean success;
+    private MediaResponse media; // set when success
+    private String error;        // set when not
+}
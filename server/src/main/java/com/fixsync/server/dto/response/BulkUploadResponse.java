@@ -0,0 +1,19 @@
+package com.fixsync.server.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUploadResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BulkUploadItemResponse> results; // in the order the files were sent
+}
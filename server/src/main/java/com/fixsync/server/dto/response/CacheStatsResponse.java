@@ -0,0 +1,20 @@
+package com.fixsync.server.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+    private String name;
+    private int size;
+    private int maxEntries;
+    private long hits;
+    private long misses;
+    private long evictions; // dropped to stay within maxEntries
+    private double hitRatio; // hits / (hits + misses) since startup
+}
@@ -41,6 +41,7 @@ public class DeviceResponse {
     private TransactionResponse transaction;
     // Convenience totals
     private Integer repairSubtotal;      // sum of repair items cost (non-null)
+    private Integer latestFinalAmount;   // finalAmount of latest transaction (null if none)
     private Integer outstandingAmount;   // repairSubtotal - latest transaction finalAmount (never negative)
 }
 
@@ -0,0 +1,19 @@
+package com.fixsync.server.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaDedupStatsResponse {
+    private long blobCount;       // distinct stored objects
+    private long referenceCount;  // media sharing them
+    private long storedBytes;     // bytes in storage
+    private long logicalBytes;    // bytes without deduplication
+    private long savedBytes;
+    private double dedupRatio;    // logicalBytes / storedBytes
+}
@@ -0,0 +1,33 @@
+package com.fixsync.server.dto.response;
+
+import com.fixsync.server.entity.enums.MediaType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Everything the download endpoint needs, resolved with a single metadata lookup
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaDownload {
+    private UUID id;
+    private String originalFilename;
+    private String contentType;
+    private MediaType mediaType;
+    private long fileSize;
+    private long lastModified; // epoch millis
+    private String etag;
+    private Path localPath; // null when stored in S3
+    private String storageKey;
+    
+    public boolean isRangeSupported() {
+        return mediaType == MediaType.VIDEO || mediaType == MediaType.AUDIO;
+    }
+}
@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.UUID;
 
 @Data
@@ -20,6 +21,7 @@ public class MediaResponse {
     private String storedFilename;
     private String filePath;
     private String url; // Full URL để download
+    private Map<String, String> variants; // thumb/medium -> URL, empty until generated
     private Long fileSize;
     private String contentType;
     private MediaType mediaType;
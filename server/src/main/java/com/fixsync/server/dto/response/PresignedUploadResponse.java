@@ -0,0 +1,22 @@
+package com.fixsync.server.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresignedUploadResponse {
+    private String key;
+    private String uploadUrl;
+    private String method;
+    // Headers the client must send with the PUT, they are part of the signature
+    private Map<String, String> headers;
+    private LocalDateTime expiresAt;
+}
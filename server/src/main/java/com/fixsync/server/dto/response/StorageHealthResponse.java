@@ -0,0 +1,18 @@
+package com.fixsync.server.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageHealthResponse {
+    private String type;        // local, s3
+    private boolean up;
+    private Long totalBytes;    // null when the backend does not report capacity
+    private Long usableBytes;
+    private String message;
+}
@@ -0,0 +1,27 @@
+package com.fixsync.server.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageReconcileResponse {
+    private LocalDateTime startedAt;
+    private long durationMs;
+    private boolean dryRun;
+    private boolean completed;       // false when the run was skipped or aborted, see message
+    private String message;
+    private long purgedMediaRows;    // soft-deleted rows removed after the retention period
+    private long scannedObjects;     // objects listed from storage
+    private long orphanObjects;      // objects no media row references
+    private long deletedObjects;     // orphans deleted (0 in dry run)
+    private long reclaimedBytes;     // size of the deleted orphans (would-be size in dry run)
+    private long skippedRecentObjects; // orphans younger than the minimum age, possibly uploads in flight
+    private long missingObjects;     // referenced keys with no object in storage
+}
@@ -3,7 +3,6 @@ package com.fixsync.server.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
-import org.hibernate.annotations.GenericGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -13,9 +12,9 @@ import java.util.UUID;
 @Setter
 public abstract class BaseEntity {
     
+    // Time-ordered (UUIDv7): new rows append to the primary key index instead of landing on random pages
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GeneratedUuidV7
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
     
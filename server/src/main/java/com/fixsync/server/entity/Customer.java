@@ -1,5 +1,6 @@
 package com.fixsync.server.entity;
 
+import com.fixsync.server.util.TextNormalizer;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -35,14 +36,21 @@ public class Customer extends BaseEntity {
     @Column(name = "note", columnDefinition = "TEXT")
     private String note;
     
+    // Search keys for trigram search (V12), derived from name/phone
+    @Column(name = "name_search", nullable = false, length = 255)
+    private String nameSearch;
+    
+    @Column(name = "phone_normalized", nullable = false, length = 20)
+    private String phoneNormalized;
+    
     // Relationships
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Device> devices;
+    
+    @PrePersist
+    @PreUpdate
+    protected void updateSearchKeys() {
+        nameSearch = TextNormalizer.searchKey(name);
+        phoneNormalized = TextNormalizer.normalizePhone(phone);
+    }
 }
-
-
-
-
-
-
-
@@ -2,12 +2,14 @@ package com.fixsync.server.entity;
 
 import com.fixsync.server.entity.enums.EntityType;
 import com.fixsync.server.entity.enums.MediaType;
+import com.fixsync.server.entity.enums.MediaVariant;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.List;
 import java.util.UUID;
 
 @Entity
@@ -16,7 +18,8 @@ import java.util.UUID;
     @Index(name = "idx_media_uploaded_by", columnList = "uploaded_by"),
     @Index(name = "idx_media_media_type", columnList = "media_type"),
     @Index(name = "idx_media_is_active", columnList = "is_active"),
-    @Index(name = "idx_media_created_at", columnList = "created_at")
+    @Index(name = "idx_media_entity_created_at", columnList = "entity_type, entity_id, created_at DESC, id DESC"),
+    @Index(name = "idx_media_uploaded_by_created_at", columnList = "uploaded_by, created_at DESC, id DESC")
 })
 @Getter
 @Setter
@@ -59,6 +62,22 @@ public class Media extends BaseEntity {
     
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
+    
+    // SHA-256 of the content, key into media_blobs; null for media that are not deduplicated
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
+    // Comma-separated MediaVariant keys, set once the derivatives are stored
+    @Column(name = "variants", length = 100)
+    private String variants;
+    
+    // Failed derivative generations, see MediaThumbnailGenerator
+    @Column(name = "variant_attempts", nullable = false)
+    private Integer variantAttempts = 0;
+    
+    public boolean hasVariant(MediaVariant variant) {
+        return variants != null && List.of(variants.split(",")).contains(variant.getKey());
+    }
 }
 
 
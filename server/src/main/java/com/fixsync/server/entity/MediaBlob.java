@@ -0,0 +1,32 @@
+package com.fixsync.server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A stored object shared by all media with the same SHA-256 content.
+ * Reference counting is done with atomic SQL in {@link com.fixsync.server.repository.MediaBlobRepository}.
+ */
+@Entity
+@Table(name = "media_blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaBlob extends BaseEntity {
+    
+    @Column(name = "content_hash", nullable = false, unique = true, length = 64)
+    private String contentHash;
+    
+    @Column(name = "file_path", nullable = false, length = 500)
+    private String filePath;
+    
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+    
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount = 1;
+}
@@ -9,9 +9,8 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "realtime_logs", indexes = {
-    @Index(name = "idx_realtime_logs_device_id", columnList = "device_id"),
-    @Index(name = "idx_realtime_logs_created_by", columnList = "created_by"),
-    @Index(name = "idx_realtime_logs_created_at", columnList = "created_at")
+    @Index(name = "idx_realtime_logs_device_created_at", columnList = "device_id, created_at DESC"),
+    @Index(name = "idx_realtime_logs_created_by", columnList = "created_by")
 })
 @Getter
 @Setter
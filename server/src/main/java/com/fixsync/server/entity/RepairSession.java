@@ -13,8 +13,8 @@ import java.util.List;
 @Entity
 @Table(name = "repair_sessions", indexes = {
         @Index(name = "idx_repair_sessions_device_id", columnList = "device_id"),
-        @Index(name = "idx_repair_sessions_status", columnList = "status"),
-        @Index(name = "idx_repair_sessions_assigned_to", columnList = "assigned_to")
+        @Index(name = "idx_repair_sessions_status_device", columnList = "status, device_id, created_at"),
+        @Index(name = "idx_repair_sessions_assigned_device", columnList = "assigned_to, device_id, created_at")
 })
 @Getter
 @Setter
@@ -1,5 +1,6 @@
 package com.fixsync.server.entity;
 
+import com.fixsync.server.util.TextNormalizer;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -31,6 +32,16 @@ public class ServiceCatalog extends BaseEntity {
 
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
+
+    // Lookup key for free-text service names (V16, unique), derived from name
+    @Column(name = "name_normalized", nullable = false, length = 255)
+    private String nameNormalized;
+
+    @PrePersist
+    @PreUpdate
+    protected void updateNameNormalized() {
+        nameNormalized = TextNormalizer.searchKey(name);
+    }
 }
 
 
@@ -0,0 +1,44 @@
+package com.fixsync.server.entity.enums;
+
+/**
+ * Downscaled JPEG derivatives generated for IMAGE media, stored next to the original
+ * as {@code <stored name>_<key>.jpg}
+ */
+public enum MediaVariant {
+    THUMB(256),
+    MEDIUM(1024);
+    
+    private final int maxDimension;
+    
+    MediaVariant(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+    
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+    
+    public String getKey() {
+        return name().toLowerCase();
+    }
+    
+    /**
+     * Sibling of the stored object: same directory (local) or same key prefix (S3).
+     * Named after the media's own stored name, so media sharing deduplicated content keep separate variants.
+     */
+    public String resolvePath(String filePath, String storedFilename) {
+        int dotIndex = storedFilename.lastIndexOf('.');
+        String baseName = dotIndex > 0 ? storedFilename.substring(0, dotIndex) : storedFilename;
+        int separatorIndex = Math.max(filePath.lastIndexOf('/'), filePath.lastIndexOf('\\'));
+        return filePath.substring(0, separatorIndex + 1) + baseName + "_" + getKey() + ".jpg";
+    }
+    
+    public static MediaVariant fromKey(String key) {
+        for (MediaVariant variant : values()) {
+            if (variant.getKey().equalsIgnoreCase(key)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+}
@@ -13,6 +13,7 @@ import java.util.List;
 public interface MediaMapper {
     
     @Mapping(target = "url", ignore = true) // Will be set manually in service
+    @Mapping(target = "variants", ignore = true)
     MediaResponse toResponse(Media media);
     
     List<MediaResponse> toResponseList(List<Media> media);
@@ -6,6 +6,7 @@ import com.fixsync.server.entity.RepairItem;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 import org.mapstruct.ReportingPolicy;
 
 import java.util.List;
@@ -20,6 +21,14 @@ public interface RepairItemMapper {
     
     List<RepairItemResponse> toResponseList(List<RepairItem> repairItems);
     
+    // For freshly written items whose serviceCatalog is an uninitialized reference: the caller fills
+    // serviceId / serviceDescription from the cached catalog entry instead of loading the row
+    @Named("withoutCatalog")
+    @Mapping(source = "device.id", target = "deviceId")
+    @Mapping(target = "serviceId", ignore = true)
+    @Mapping(target = "serviceDescription", ignore = true)
+    RepairItemResponse toResponseWithoutCatalog(RepairItem repairItem);
+    
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,11 +19,50 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID> {
     
     Optional<Customer> findByEmail(String email);
     
-    @Query("SELECT c FROM Customer c WHERE " +
-           "LOWER(c.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(c.phone) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(COALESCE(c.email, '')) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Customer> searchCustomers(@Param("search") String search, Pageable pageable);
+    // Substring match on the normalized search keys; every branch is served by a pg_trgm GIN index (V12).
+    // :term = TextNormalizer.searchKey + LIKE-escaped, at least 3 characters (a trigram);
+    // :phone = digits only ('' when fewer than 3)
+    String SEARCH_PREDICATE = "c.name_search LIKE CONCAT('%', :term, '%') " +
+           "OR LOWER(c.email) LIKE CONCAT('%', :term, '%') " +
+           "OR (:phone <> '' AND c.phone_normalized LIKE CONCAT('%', :phone, '%'))";
+    
+    // Ranked like suggestCustomers: phone prefix matches first, then by word similarity of the name
+    @Query(value = "SELECT * FROM customers c WHERE " + SEARCH_PREDICATE + " " +
+                   "ORDER BY (:phone <> '' AND c.phone_normalized LIKE CONCAT(:phone, '%')) DESC, " +
+                   "word_similarity(:rankTerm, c.name_search) DESC, c.name_search, c.id",
+           countQuery = "SELECT COUNT(*) FROM customers c WHERE " + SEARCH_PREDICATE,
+           nativeQuery = true)
+    Page<Customer> searchCustomers(@Param("term") String term,
+                                   @Param("phone") String phone,
+                                   @Param("rankTerm") String rankTerm,
+                                   Pageable pageable);
+    
+    // Terms shorter than a trigram (first keystrokes): name prefix on the "C" collation btree (V20),
+    // which also returns rows in order. :prefix is LIKE-escaped; || keeps the pattern a plan-time constant
+    String PREFIX_PREDICATE = "c.name_search COLLATE \"C\" LIKE :prefix || '%'";
+    
+    @Query(value = "SELECT * FROM customers c WHERE " + PREFIX_PREDICATE + " ORDER BY c.name_search COLLATE \"C\", c.id",
+           countQuery = "SELECT COUNT(*) FROM customers c WHERE " + PREFIX_PREDICATE,
+           nativeQuery = true)
+    Page<Customer> searchCustomersByNamePrefix(@Param("prefix") String prefix, Pageable pageable);
+    
+    @Query(value = "SELECT * FROM customers c WHERE " + PREFIX_PREDICATE + " " +
+                   "ORDER BY c.name_search COLLATE \"C\" LIMIT :limit", nativeQuery = true)
+    List<Customer> suggestCustomersByNamePrefix(@Param("prefix") String prefix, @Param("limit") int limit);
+    
+    // Type-ahead: phone prefix matches first, then by word similarity of the name (typo tolerant).
+    // :term has at least 3 characters, shorter ones go to suggestCustomersByNamePrefix
+    @Query(value = "SELECT * FROM customers c " +
+                   "WHERE :term <% c.name_search " +
+                   "OR c.name_search LIKE CONCAT(:termPrefix, '%') " +
+                   "OR (:phone <> '' AND c.phone_normalized LIKE CONCAT(:phone, '%')) " +
+                   "ORDER BY (:phone <> '' AND c.phone_normalized LIKE CONCAT(:phone, '%')) DESC, " +
+                   "word_similarity(:term, c.name_search) DESC, c.name_search " +
+                   "LIMIT :limit", nativeQuery = true)
+    List<Customer> suggestCustomers(@Param("term") String term,
+                                    @Param("termPrefix") String termPrefix,
+                                    @Param("phone") String phone,
+                                    @Param("limit") int limit);
     
     Page<Customer> findAll(Pageable pageable);
 }
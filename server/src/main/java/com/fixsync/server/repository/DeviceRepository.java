@@ -1,23 +1,60 @@
 package com.fixsync.server.repository;
 
 import com.fixsync.server.entity.Device;
+import com.fixsync.server.repository.projection.DeviceFinancials;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface DeviceRepository extends JpaRepository<Device, UUID> {
+public interface DeviceRepository extends JpaRepository<Device, UUID>, JpaSpecificationExecutor<Device> {
     
     @EntityGraph(attributePaths = {"createdBy", "customer", "brandEntity", "modelEntity"})
     Optional<Device> findById(UUID id);
     
     @EntityGraph(attributePaths = {"createdBy", "customer", "brandEntity", "modelEntity"})
     Page<Device> findAll(Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"createdBy", "customer", "brandEntity", "modelEntity"})
+    Page<Device> findAll(Specification<Device> spec, Pageable pageable);
+    
+    // Search page without a COUNT(*) over all matches (one extra row tells whether a next page exists)
+    default Slice<Device> searchSlice(Specification<Device> spec, Pageable pageable) {
+        return findBy(spec, query -> query
+                .project("createdBy", "customer", "brandEntity", "modelEntity")
+                .slice(pageable));
+    }
+    
+    @EntityGraph(attributePaths = {"createdBy", "customer", "brandEntity", "modelEntity"})
+    Window<Device> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+    
+    // Subtotal, latest transaction amount per device for a whole page in one grouped query
+    @Query(value = "SELECT d.id AS \"deviceId\", " +
+                   "COALESCE(SUM(ri.cost), 0) AS \"repairSubtotal\", " +
+                   "lt.final_amount AS \"latestFinalAmount\" " +
+                   "FROM devices d " +
+                   "LEFT JOIN repair_items ri ON ri.device_id = d.id " +
+                   "LEFT JOIN LATERAL (SELECT t.final_amount FROM transactions t " +
+                   "    WHERE t.device_id = d.id ORDER BY t.created_at DESC LIMIT 1) lt ON TRUE " +
+                   "WHERE d.id IN (:deviceIds) " +
+                   "GROUP BY d.id, lt.final_amount", nativeQuery = true)
+    List<DeviceFinancials> findFinancialsByDeviceIdIn(@Param("deviceIds") Collection<UUID> deviceIds);
 }
 
 
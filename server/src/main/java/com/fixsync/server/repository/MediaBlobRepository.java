@@ -0,0 +1,50 @@
+package com.fixsync.server.repository;
+
+import com.fixsync.server.entity.MediaBlob;
+import com.fixsync.server.repository.projection.MediaDedupStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface MediaBlobRepository extends JpaRepository<MediaBlob, UUID> {
+    
+    Optional<MediaBlob> findByContentHash(String contentHash);
+    
+    // Registers a reference in one atomic statement: inserts the blob with the just-written path,
+    // or bumps ref_count of the existing one. Returns the path to use; differs from :filePath
+    // when the content was already stored (the caller then deletes its copy).
+    @Transactional
+    @Query(value = "INSERT INTO media_blobs (id, content_hash, file_path, file_size, ref_count, created_at, updated_at, version) " +
+                   "VALUES (:id, :contentHash, :filePath, :fileSize, 1, now(), now(), 0) " +
+                   "ON CONFLICT (content_hash) DO UPDATE SET ref_count = media_blobs.ref_count + 1, updated_at = now() " +
+                   "RETURNING file_path", nativeQuery = true)
+    String acquire(@Param("id") UUID id,
+                   @Param("contentHash") String contentHash,
+                   @Param("filePath") String filePath,
+                   @Param("fileSize") long fileSize);
+    
+    @Modifying
+    @Query(value = "UPDATE media_blobs SET ref_count = ref_count - 1, updated_at = now() " +
+                   "WHERE content_hash = :contentHash AND ref_count > 0", nativeQuery = true)
+    int release(@Param("contentHash") String contentHash);
+    
+    // Only succeeds while nobody re-acquired the blob; the row lock taken by release() keeps
+    // a concurrent acquire() waiting until this transaction ends
+    @Modifying
+    @Query(value = "DELETE FROM media_blobs WHERE content_hash = :contentHash AND ref_count = 0", nativeQuery = true)
+    int deleteIfUnreferenced(@Param("contentHash") String contentHash);
+    
+    @Query(value = "SELECT COUNT(*) AS blobCount, " +
+                   "COALESCE(SUM(ref_count), 0) AS referenceCount, " +
+                   "COALESCE(SUM(file_size), 0) AS storedBytes, " +
+                   "COALESCE(SUM(file_size * ref_count), 0) AS logicalBytes " +
+                   "FROM media_blobs", nativeQuery = true)
+    MediaDedupStats getDedupStats();
+}
@@ -3,12 +3,21 @@ package com.fixsync.server.repository;
 import com.fixsync.server.entity.Media;
 import com.fixsync.server.entity.enums.EntityType;
 import com.fixsync.server.entity.enums.MediaType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,23 +31,54 @@ public interface MediaRepository extends JpaRepository<Media, UUID> {
     @EntityGraph(attributePaths = {"uploadedBy"})
     Optional<Media> findByStoredFilename(String storedFilename);
     
+    @Modifying
+    @Transactional
+    @Query("UPDATE Media m SET m.variants = :variants WHERE m.id = :id AND m.isActive = true")
+    int updateVariants(@Param("id") UUID id, @Param("variants") String variants);
+    
+    // Counts a failed generation; after maxAttempts failures the image is given up (empty variants)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Media m SET m.variantAttempts = m.variantAttempts + 1, " +
+           "m.variants = CASE WHEN m.variantAttempts + 1 >= :maxAttempts THEN '' ELSE m.variants END " +
+           "WHERE m.id = :id AND m.variants IS NULL")
+    int recordVariantFailure(@Param("id") UUID id, @Param("maxAttempts") int maxAttempts);
+    
+    // Images whose derivatives are still pending, oldest first (partial index, V17)
+    @Query("SELECT m FROM Media m WHERE m.mediaType = :mediaType AND m.variants IS NULL " +
+           "AND m.isActive = true AND m.createdAt < :createdBefore ORDER BY m.createdAt")
+    List<Media> findPendingVariants(@Param("mediaType") MediaType mediaType,
+                                    @Param("createdBefore") LocalDateTime createdBefore,
+                                    Limit limit);
+    
     @EntityGraph(attributePaths = {"uploadedBy"})
     List<Media> findByEntityTypeAndEntityId(EntityType entityType, UUID entityId);
     
     @EntityGraph(attributePaths = {"uploadedBy"})
     Page<Media> findByEntityTypeAndEntityId(EntityType entityType, UUID entityId, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"uploadedBy"})
+    Window<Media> findByEntityTypeAndEntityId(EntityType entityType, UUID entityId, ScrollPosition position, Limit limit, Sort sort);
+    
+    List<Media> findByEntityTypeAndEntityIdAndIsActiveTrueOrderByCreatedAtAsc(EntityType entityType, UUID entityId);
+    
     @EntityGraph(attributePaths = {"uploadedBy"})
     List<Media> findByEntityTypeAndEntityIdAndMediaType(EntityType entityType, UUID entityId, MediaType mediaType);
     
     @EntityGraph(attributePaths = {"uploadedBy"})
     Page<Media> findByUploadedBy(UUID uploadedById, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"uploadedBy"})
+    Window<Media> findByUploadedBy(UUID uploadedById, ScrollPosition position, Limit limit, Sort sort);
+    
     @EntityGraph(attributePaths = {"uploadedBy"})
     Page<Media> findByMediaType(MediaType mediaType, Pageable pageable);
     
     @EntityGraph(attributePaths = {"uploadedBy"})
     Page<Media> findByIsActiveTrue(Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"uploadedBy"})
+    Window<Media> findByIsActiveTrue(ScrollPosition position, Limit limit, Sort sort);
 }
 
 
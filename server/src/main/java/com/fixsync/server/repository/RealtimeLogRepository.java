@@ -2,22 +2,44 @@ package com.fixsync.server.repository;
 
 import com.fixsync.server.entity.RealtimeLog;
 import com.fixsync.server.entity.enums.ActionType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface RealtimeLogRepository extends JpaRepository<RealtimeLog, UUID> {
-    List<RealtimeLog> findByDeviceIdOrderByCreatedAtDesc(UUID deviceId);
+    @EntityGraph(attributePaths = {"createdBy"})
+    List<RealtimeLog> findByDeviceIdOrderByCreatedAtDesc(UUID deviceId, Pageable pageable);
     
     @EntityGraph(attributePaths = {"createdBy"})
     Page<RealtimeLog> findByDeviceId(UUID deviceId, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"createdBy"})
+    Window<RealtimeLog> findByDeviceId(UUID deviceId, ScrollPosition position, Limit limit, Sort sort);
+    
+    // Stream resume after a Last-Event-ID: ids are time-ordered UUIDv7, the createdAt bound prunes partitions
+    @EntityGraph(attributePaths = {"createdBy"})
+    @Query("SELECT l FROM RealtimeLog l WHERE l.id > :afterId AND l.createdAt >= :since ORDER BY l.id")
+    List<RealtimeLog> findStreamReplay(@Param("afterId") UUID afterId, @Param("since") LocalDateTime since, Limit limit);
+    
+    @EntityGraph(attributePaths = {"createdBy"})
+    @Query("SELECT l FROM RealtimeLog l WHERE l.device.id = :deviceId AND l.id > :afterId " +
+           "AND l.createdAt >= :since ORDER BY l.id")
+    List<RealtimeLog> findStreamReplay(@Param("deviceId") UUID deviceId, @Param("afterId") UUID afterId,
+                                       @Param("since") LocalDateTime since, Limit limit);
+    
     @EntityGraph(attributePaths = {"createdBy"})
     Page<RealtimeLog> findByDeviceIdAndAction(UUID deviceId, ActionType action, Pageable pageable);
 }
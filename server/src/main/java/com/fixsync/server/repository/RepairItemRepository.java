@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,6 +18,10 @@ public interface RepairItemRepository extends JpaRepository<RepairItem, UUID> {
     
     Page<RepairItem> findByDeviceId(UUID deviceId, Pageable pageable);
     
+    // Batch load for a page of devices (serviceCatalog fetched to avoid per-item lazy loads in the mapper)
+    @Query("SELECT ri FROM RepairItem ri LEFT JOIN FETCH ri.serviceCatalog WHERE ri.device.id IN :deviceIds")
+    List<RepairItem> findByDeviceIdIn(@Param("deviceIds") Collection<UUID> deviceIds);
+    
     @Query("SELECT SUM(ri.cost) FROM RepairItem ri WHERE ri.device.id = :deviceId")
     Integer sumCostByDeviceId(@Param("deviceId") UUID deviceId);
 }
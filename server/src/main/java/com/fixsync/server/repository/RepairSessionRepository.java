@@ -1,8 +1,12 @@
 package com.fixsync.server.repository;
 
 import com.fixsync.server.entity.RepairSession;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -19,8 +23,14 @@ public interface RepairSessionRepository extends JpaRepository<RepairSession, UU
     @EntityGraph(attributePaths = {"device", "device.brandEntity", "device.modelEntity", "device.customer", "assignedTo", "createdBy"})
     Page<RepairSession> findAll(Pageable pageable);
 
+    @EntityGraph(attributePaths = {"device", "device.brandEntity", "device.modelEntity", "device.customer", "assignedTo", "createdBy"})
+    Window<RepairSession> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
     @EntityGraph(attributePaths = {"device", "device.brandEntity", "device.modelEntity", "device.customer", "assignedTo", "createdBy"})
     Page<RepairSession> findByDeviceId(UUID deviceId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"device", "device.brandEntity", "device.modelEntity", "device.customer", "assignedTo", "createdBy"})
+    Window<RepairSession> findByDeviceId(UUID deviceId, ScrollPosition position, Limit limit, Sort sort);
     
     @EntityGraph(attributePaths = {"device", "device.brandEntity", "device.modelEntity", "device.customer", "assignedTo", "createdBy"})
     Optional<RepairSession> findById(UUID id);
@@ -10,7 +10,8 @@ import java.util.UUID;
 
 @Repository
 public interface ServiceCatalogRepository extends JpaRepository<ServiceCatalog, UUID> {
-    Optional<ServiceCatalog> findByNameIgnoreCase(String name);
+    // nameNormalized = TextNormalizer.searchKey(name), unique index (V16)
+    Optional<ServiceCatalog> findByNameNormalized(String nameNormalized);
     List<ServiceCatalog> findByIsActiveTrue();
 }
 
@@ -1,14 +1,20 @@
 package com.fixsync.server.repository;
 
 import com.fixsync.server.entity.Transaction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,11 +23,19 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
     Optional<Transaction> findByDeviceId(UUID deviceId);
     
     Page<Transaction> findByDeviceId(UUID deviceId, Pageable pageable);
+    
+    Window<Transaction> findAllBy(ScrollPosition position, Limit limit, Sort sort);
 
     Optional<Transaction> findByRepairSessionId(UUID repairSessionId);
 
     Optional<Transaction> findTopByDeviceIdOrderByCreatedAtDesc(UUID deviceId);
     
+    // Latest transaction of each device in one query (batch counterpart of findTopByDeviceIdOrderByCreatedAtDesc)
+    @Query(value = "SELECT DISTINCT ON (t.device_id) t.* FROM transactions t " +
+                   "WHERE t.device_id IN (:deviceIds) " +
+                   "ORDER BY t.device_id, t.created_at DESC", nativeQuery = true)
+    List<Transaction> findLatestByDeviceIdIn(@Param("deviceIds") Collection<UUID> deviceIds);
+    
     @Query("SELECT SUM(t.finalAmount) FROM Transaction t WHERE " +
            "t.createdAt >= :startDate AND t.createdAt <= :endDate")
     Long sumFinalAmountByDateRange(
@@ -0,0 +1,20 @@
+package com.fixsync.server.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Aggregated financial read model of a device (computed in SQL, repair items/transactions are not loaded)
+ */
+public interface DeviceFinancials {
+    UUID getDeviceId();
+    
+    Long getRepairSubtotal();        // sum of repair items cost
+    
+    Integer getLatestFinalAmount();  // finalAmount of latest transaction (null if none)
+    
+    default int getOutstandingAmount() {
+        long subtotal = getRepairSubtotal() != null ? getRepairSubtotal() : 0L;
+        long finalAmount = getLatestFinalAmount() != null ? getLatestFinalAmount() : 0L;
+        return (int) Math.max(0L, subtotal - finalAmount);
+    }
+}
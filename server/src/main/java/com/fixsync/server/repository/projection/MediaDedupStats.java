@@ -0,0 +1,14 @@
+package com.fixsync.server.repository.projection;
+
+/**
+ * Deduplication totals over media_blobs (computed in SQL)
+ */
+public interface MediaDedupStats {
+    Long getBlobCount();         // distinct stored objects
+    
+    Long getReferenceCount();    // media rows pointing at them
+    
+    Long getStoredBytes();       // bytes actually in storage
+    
+    Long getLogicalBytes();      // bytes that would be stored without deduplication
+}
@@ -0,0 +1,101 @@
+package com.fixsync.server.repository.specification;
+
+import com.fixsync.server.dto.request.DeviceSearchRequest;
+import com.fixsync.server.entity.Device;
+import com.fixsync.server.entity.RepairSession;
+import com.fixsync.server.entity.enums.DeviceStatus;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Dynamic filters for device search. Every predicate matches an index from V11:
+ * text filters are prefix matches (LIKE 'x%'), never '%x%'.
+ */
+public final class DeviceSpecifications {
+    
+    private DeviceSpecifications() {
+    }
+    
+    public static Specification<Device> fromSearch(DeviceSearchRequest request) {
+        List<Specification<Device>> specs = new ArrayList<>();
+        if (StringUtils.hasText(request.getCustomerName())) {
+            specs.add(customerNameStartsWith(request.getCustomerName()));
+        }
+        if (StringUtils.hasText(request.getCustomerPhone())) {
+            specs.add(customerPhoneStartsWith(request.getCustomerPhone()));
+        }
+        if (StringUtils.hasText(request.getDeviceType())) {
+            specs.add(deviceTypeEquals(request.getDeviceType()));
+        }
+        if (StringUtils.hasText(request.getBrand())) {
+            specs.add(brandEquals(request.getBrand()));
+        }
+        if (request.getCreatedById() != null) {
+            specs.add(createdBy(request.getCreatedById()));
+        }
+        if (request.getStatus() != null || request.getAssignedToId() != null) {
+            specs.add(latestSession(request.getStatus(), request.getAssignedToId()));
+        }
+        return Specification.allOf(specs);
+    }
+    
+    public static Specification<Device> customerNameStartsWith(String name) {
+        return (root, query, cb) -> cb.like(
+                cb.lower(root.get("customerName")), likePrefix(name.trim().toLowerCase()), '\\');
+    }
+    
+    public static Specification<Device> customerPhoneStartsWith(String phone) {
+        return (root, query, cb) -> cb.like(root.get("customerPhone"), likePrefix(phone.trim()), '\\');
+    }
+    
+    public static Specification<Device> deviceTypeEquals(String deviceType) {
+        return (root, query, cb) -> cb.equal(root.get("deviceType"), deviceType.trim());
+    }
+    
+    public static Specification<Device> brandEquals(String brand) {
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("brand")), brand.trim().toLowerCase());
+    }
+    
+    public static Specification<Device> createdBy(UUID userId) {
+        return (root, query, cb) -> cb.equal(root.get("createdBy").get("id"), userId);
+    }
+    
+    /**
+     * Status / assignee of the latest repair session of the device (both conditions on the same session)
+     */
+    public static Specification<Device> latestSession(DeviceStatus status, UUID assignedToId) {
+        return (root, query, cb) -> {
+            Subquery<LocalDateTime> latestCreatedAt = query.subquery(LocalDateTime.class);
+            Root<RepairSession> latest = latestCreatedAt.from(RepairSession.class);
+            latestCreatedAt.select(cb.greatest(latest.<LocalDateTime>get("createdAt")))
+                    .where(cb.equal(latest.get("device"), root));
+            
+            Subquery<Integer> matching = query.subquery(Integer.class);
+            Root<RepairSession> session = matching.from(RepairSession.class);
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(session.get("device"), root));
+            predicates.add(cb.equal(session.get("createdAt"), latestCreatedAt));
+            if (status != null) {
+                predicates.add(cb.equal(session.get("status"), status));
+            }
+            if (assignedToId != null) {
+                predicates.add(cb.equal(session.get("assignedTo").get("id"), assignedToId));
+            }
+            matching.select(cb.literal(1)).where(predicates.toArray(new Predicate[0]));
+            return cb.exists(matching);
+        };
+    }
+    
+    private static String likePrefix(String value) {
+        String escaped = value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return escaped + "%";
+    }
+}
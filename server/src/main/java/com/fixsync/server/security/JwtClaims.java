@@ -0,0 +1,21 @@
+package com.fixsync.server.security;
+
+import com.fixsync.server.entity.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Verified claims of a JWT, produced by a single parse in JwtUtil.parseToken
+ */
+@Getter
+@AllArgsConstructor
+public class JwtClaims {
+    private final String subject;
+    private final UUID userId;   // null for tokens issued before the uid claim existed
+    private final Role role;     // null for tokens issued before the role claim existed
+    private final Date issuedAt;
+    private final Date expiration;
+}
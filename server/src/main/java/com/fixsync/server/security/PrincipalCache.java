@@ -0,0 +1,102 @@
+package com.fixsync.server.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of resolved principals keyed by token subject (email).
+ * Used by JwtAuthenticationFilter so authenticated requests do not query the users table.
+ * <p>
+ * As in BoundedCache, a load that was in flight while any user was evicted is returned but not stored,
+ * so a reader that saw the row before a deactivation or role change commits cannot cache it again.
+ */
+@Component
+public class PrincipalCache {
+    
+    @Value("${security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+    
+    @Value("${security.principal-cache.max-size:10000}")
+    private int maxSize;
+    
+    // Access-ordered map -> least recently used entry is evicted first when full
+    private final Map<String, CachedPrincipal> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+            return size() > maxSize;
+        }
+    };
+    
+    // Bumped on every eviction, guarded by entries
+    private long generation;
+    
+    public UserPrincipal getOrLoad(String email, Function<String, UserPrincipal> loader) {
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        synchronized (entries) {
+            CachedPrincipal cached = entries.get(email);
+            if (cached != null && cached.expiresAt > now) {
+                return cached.principal;
+            }
+            loadGeneration = generation;
+        }
+        
+        // Load outside the lock; a concurrent load of the same user simply overwrites with the same value
+        UserPrincipal principal = loader.apply(email);
+        synchronized (entries) {
+            if (generation == loadGeneration) {
+                entries.put(email, new CachedPrincipal(principal, now + ttlSeconds * 1000));
+            }
+        }
+        return principal;
+    }
+    
+    /**
+     * Evict a user now and again after the surrounding transaction commits,
+     * so a request racing the commit cannot re-cache the old state.
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        remove(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(email);
+                }
+            });
+        }
+    }
+    
+    public void clear() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+    
+    private void remove(String email) {
+        synchronized (entries) {
+            generation++;
+            entries.remove(email);
+        }
+    }
+    
+    private static class CachedPrincipal {
+        private final UserPrincipal principal;
+        private final long expiresAt;
+        
+        private CachedPrincipal(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.fixsync.server.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -39,10 +40,12 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // SSE completion re-dispatch, already authorized
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/brands/**").permitAll()
                         .requestMatchers("/api/device-models/**").permitAll()
                         .requestMatchers("/api/media/*/download").permitAll() // Allow public download
+                        .requestMatchers("/api/media/*/variants/*").permitAll() // Thumbnails, same as download
                         .requestMatchers("/api/users/**").hasAnyRole("ADMIN")
                         .anyRequest().authenticated()
                 )
@@ -0,0 +1,42 @@
+package com.fixsync.server.security;
+
+import com.fixsync.server.entity.User;
+import com.fixsync.server.entity.enums.Role;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Authenticated principal carrying the user id and role, so request handling does not need to reload the user
+ */
+@Getter
+public class UserPrincipal implements UserDetails {
+    
+    private final UUID id;
+    private final String email;
+    private final String password;
+    private final Role role;
+    private final Collection<? extends GrantedAuthority> authorities;
+    
+    public UserPrincipal(UUID id, String email, String password, Role role) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+    
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPasswordHash(), user.getRole());
+    }
+    
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
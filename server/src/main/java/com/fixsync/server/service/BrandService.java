@@ -9,6 +9,7 @@ import java.util.UUID;
 
 public interface BrandService {
     List<BrandResponse> getAllActiveBrands();
+    String getCatalogVersion();
     PageResponse<BrandResponse> getAllBrands(Pageable pageable);
     BrandResponse getBrandById(UUID id);
     BrandResponse createBrand(BrandResponse request);
@@ -0,0 +1,54 @@
+package com.fixsync.server.service;
+
+import com.fixsync.server.dto.response.BrandResponse;
+import com.fixsync.server.dto.response.CacheStatsResponse;
+import com.fixsync.server.dto.response.DeviceModelResponse;
+import com.fixsync.server.dto.response.ServiceCatalogResponse;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through cache for brands, device models and the service catalog.
+ * Writers evict after their transaction commits; the TTL bounds staleness across instances.
+ * <p>
+ * The version getters read the table's change counter (bumped by a database trigger on every write) and
+ * drop cached data older than it, so a response built after reading a version is never older than that version.
+ */
+public interface CatalogCacheService {
+    List<BrandResponse> getActiveBrands();
+    
+    BrandResponse getBrand(UUID id);
+    
+    List<DeviceModelResponse> getActiveModelsByBrand(UUID brandId);
+    
+    DeviceModelResponse getModel(UUID id);
+    
+    List<ServiceCatalogResponse> getActiveServices();
+    
+    ServiceCatalogResponse getService(UUID id);
+    
+    // Case- and accent-insensitive, inactive services included
+    Optional<ServiceCatalogResponse> findServiceByName(String name);
+    
+    // Active services whose normalized name starts with the query, then those with a later word starting with it
+    List<ServiceCatalogResponse> suggestServices(String query, int limit);
+    
+    long getBrandsVersion();
+    
+    long getModelsVersion();
+    
+    long getServicesVersion();
+    
+    // Also evicts models, they carry the brand name
+    void evictBrands();
+    
+    void evictModels();
+    
+    void evictServices();
+    
+    void evictAll();
+    
+    List<CacheStatsResponse> getStats();
+}
@@ -5,6 +5,7 @@ import com.fixsync.server.dto.response.CustomerResponse;
 import com.fixsync.server.dto.response.PageResponse;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface CustomerService {
@@ -12,6 +13,7 @@ public interface CustomerService {
     CustomerResponse updateCustomer(UUID id, CustomerRequest request);
     CustomerResponse getCustomerById(UUID id);
     PageResponse<CustomerResponse> getCustomers(String search, Pageable pageable);
+    List<CustomerResponse> suggestCustomers(String query, int limit);
     void deleteCustomer(UUID id);
 }
 
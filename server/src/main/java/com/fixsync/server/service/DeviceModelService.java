@@ -9,6 +9,7 @@ import java.util.UUID;
 
 public interface DeviceModelService {
     List<DeviceModelResponse> getModelsByBrandId(UUID brandId);
+    String getCatalogVersion();
     PageResponse<DeviceModelResponse> getModelsByBrandId(UUID brandId, Pageable pageable);
     List<DeviceModelResponse> getModelsByDeviceType(String deviceType);
     DeviceModelResponse getModelById(UUID id);
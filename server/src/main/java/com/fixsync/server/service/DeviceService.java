@@ -1,18 +1,23 @@
 package com.fixsync.server.service;
 
 import com.fixsync.server.dto.request.DeviceRequest;
+import com.fixsync.server.dto.request.DeviceSearchRequest;
+import com.fixsync.server.dto.response.CursorResponse;
 import com.fixsync.server.dto.response.DeviceResponse;
 import com.fixsync.server.dto.response.PageResponse;
 import com.fixsync.server.entity.enums.DeviceStatus;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Set;
 import java.util.UUID;
 
 public interface DeviceService {
     DeviceResponse createDevice(DeviceRequest request, UUID createdById);
     DeviceResponse updateDevice(UUID id, DeviceRequest request);
     DeviceResponse getDeviceById(UUID id);
-    PageResponse<DeviceResponse> getAllDevices(Pageable pageable);
+    PageResponse<DeviceResponse> getAllDevices(Pageable pageable, Set<String> include);
+    CursorResponse<DeviceResponse> getAllDevices(String after, int size, Set<String> include);
+    PageResponse<DeviceResponse> searchDevices(DeviceSearchRequest request, Pageable pageable, Set<String> include);
     void deleteDevice(UUID id);
 }
 
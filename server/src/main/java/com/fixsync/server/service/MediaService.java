@@ -1,13 +1,25 @@
 package com.fixsync.server.service;
 
+import com.fixsync.server.dto.request.FinalizeUploadRequest;
+import com.fixsync.server.dto.request.PresignedUploadRequest;
+import com.fixsync.server.dto.response.BulkUploadResponse;
+import com.fixsync.server.dto.response.CursorResponse;
+import com.fixsync.server.dto.response.MediaDedupStatsResponse;
+import com.fixsync.server.dto.response.MediaDownload;
 import com.fixsync.server.dto.response.MediaResponse;
 import com.fixsync.server.dto.response.PageResponse;
+import com.fixsync.server.dto.response.PresignedUploadResponse;
+import com.fixsync.server.dto.response.StorageHealthResponse;
+import com.fixsync.server.dto.response.StorageReconcileResponse;
 import com.fixsync.server.entity.enums.EntityType;
 import com.fixsync.server.entity.enums.MediaType;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,23 +27,56 @@ public interface MediaService {
     MediaResponse uploadFile(MultipartFile file, MediaType mediaType, EntityType entityType, 
                             UUID entityId, String description, UUID uploadedById);
     
+    BulkUploadResponse uploadFiles(List<MultipartFile> files, MediaType mediaType, EntityType entityType,
+                                   UUID entityId, String description, UUID uploadedById);
+    
+    MediaResponse uploadStream(InputStream inputStream, long contentLength, String contentType,
+                               String originalFilename, MediaType mediaType, EntityType entityType,
+                               UUID entityId, String description, UUID uploadedById);
+    
+    PresignedUploadResponse createPresignedUpload(PresignedUploadRequest request);
+    
+    MediaResponse finalizeUpload(FinalizeUploadRequest request, UUID uploadedById);
+    
     Resource downloadFile(UUID mediaId);
+
+    
+    MediaDownload getDownload(UUID mediaId);
+    
+    MediaDownload getVariantDownload(UUID mediaId, String variant);
+    
+    InputStream openRange(MediaDownload download, long start, long end);
+    
+    // Active media of the entity, oldest first; not found when there are none
+    List<MediaDownload> getEntityDownloads(EntityType entityType, UUID entityId);
+    
+    // Streams the downloads as one ZIP archive
+    void writeArchive(List<MediaDownload> downloads, OutputStream outputStream) throws IOException;
     
     MediaResponse getMediaById(UUID id);
     
     List<MediaResponse> getMediaByEntity(EntityType entityType, UUID entityId);
     
     PageResponse<MediaResponse> getMediaByEntity(EntityType entityType, UUID entityId, Pageable pageable);
+    CursorResponse<MediaResponse> getMediaByEntity(EntityType entityType, UUID entityId, String after, int size);
     
     List<MediaResponse> getMediaByEntityAndType(EntityType entityType, UUID entityId, MediaType mediaType);
     
     PageResponse<MediaResponse> getMediaByUploader(UUID uploadedById, Pageable pageable);
+    CursorResponse<MediaResponse> getMediaByUploader(UUID uploadedById, String after, int size);
     
     PageResponse<MediaResponse> getAllMedia(Pageable pageable);
+    CursorResponse<MediaResponse> getAllMedia(String after, int size);
     
     void deleteMedia(UUID id);
     
+    MediaDedupStatsResponse getDedupStats();
+    
     String getMediaUrl(UUID mediaId);
+    
+    StorageHealthResponse getStorageHealth();
+    
+    StorageReconcileResponse reconcileStorage();
 }
 
 
@@ -1,5 +1,6 @@
 package com.fixsync.server.service;
 
+import com.fixsync.server.dto.response.CursorResponse;
 import com.fixsync.server.dto.response.PageResponse;
 import com.fixsync.server.dto.response.RealtimeLogResponse;
 import com.fixsync.server.entity.enums.ActionType;
@@ -10,8 +11,10 @@ import java.util.UUID;
 
 public interface RealtimeLogService {
     RealtimeLogResponse createLog(UUID deviceId, ActionType action, String detail, UUID createdById);
+    void recordLog(UUID deviceId, ActionType action, String detail, UUID createdById);
     List<RealtimeLogResponse> getLogsByDeviceId(UUID deviceId);
     PageResponse<RealtimeLogResponse> getLogsByDeviceId(UUID deviceId, Pageable pageable);
+    CursorResponse<RealtimeLogResponse> getLogsByDeviceId(UUID deviceId, String after, int size);
     PageResponse<RealtimeLogResponse> getLogsByDeviceIdAndAction(UUID deviceId, ActionType action, Pageable pageable);
 }
 
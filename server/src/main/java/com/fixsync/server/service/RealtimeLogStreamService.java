@@ -0,0 +1,11 @@
+package com.fixsync.server.service;
+
+import com.fixsync.server.dto.response.RealtimeLogResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+public interface RealtimeLogStreamService {
+    SseEmitter subscribe(UUID deviceId, String lastEventId);
+    void publish(RealtimeLogResponse log);
+}
@@ -10,6 +10,7 @@ import java.util.UUID;
 
 public interface RepairItemService {
     RepairItemResponse createRepairItem(RepairItemRequest request);
+    List<RepairItemResponse> createRepairItems(List<RepairItemRequest> requests);
     RepairItemResponse updateRepairItem(UUID id, RepairItemRequest request);
     RepairItemResponse getRepairItemById(UUID id);
     List<RepairItemResponse> getRepairItemsByDeviceId(UUID deviceId);
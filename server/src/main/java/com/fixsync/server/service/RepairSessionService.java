@@ -1,6 +1,7 @@
 package com.fixsync.server.service;
 
 import com.fixsync.server.dto.request.RepairSessionRequest;
+import com.fixsync.server.dto.response.CursorResponse;
 import com.fixsync.server.dto.response.PageResponse;
 import com.fixsync.server.dto.response.RepairSessionResponse;
 import org.springframework.data.domain.Pageable;
@@ -13,6 +14,8 @@ public interface RepairSessionService {
     RepairSessionResponse getSessionById(UUID id);
     PageResponse<RepairSessionResponse> getAllSessions(Pageable pageable);
     PageResponse<RepairSessionResponse> getSessionsByDevice(UUID deviceId, Pageable pageable);
+    CursorResponse<RepairSessionResponse> getAllSessions(String after, int size);
+    CursorResponse<RepairSessionResponse> getSessionsByDevice(UUID deviceId, String after, int size);
 }
 
 
@@ -1,22 +1,43 @@
 package com.fixsync.server.service;
 
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
 
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface S3Service {
     String uploadFile(String key, MultipartFile file, String contentType);
     
+    // Streams an upload of unknown length as multipart parts, returns the number of bytes stored
+    long uploadStream(String key, InputStream inputStream, String contentType);
+    
     InputStream downloadFile(String key);
     
+    // Byte range [start, end] (inclusive)
+    InputStream downloadFile(String key, long start, long end);
+    
     void deleteFile(String key);
     
     URL generatePresignedUrl(String key, long expirationInMinutes);
     
+    // Presigned PUT; the client must send exactly this Content-Type and Content-Length
+    URL generatePresignedUploadUrl(String key, String contentType, long contentLength, long expirationInMinutes);
+    
     String getFileUrl(String key);
     
     boolean fileExists(String key);
+    
+    // HEAD of the object, empty if it does not exist
+    Optional<HeadObjectResponse> headFile(String key);
+    
+    boolean isBucketAccessible();
+    
+    // Objects under prefix in key order, pages are fetched as the stream is consumed
+    Stream<S3Object> listObjects(String prefix);
 }
 
 
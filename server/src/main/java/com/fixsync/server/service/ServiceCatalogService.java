@@ -14,6 +14,8 @@ public interface ServiceCatalogService {
     ServiceCatalogResponse getById(UUID id);
     PageResponse<ServiceCatalogResponse> getAll(Pageable pageable);
     List<ServiceCatalogResponse> getActive();
+    List<ServiceCatalogResponse> suggest(String query, int limit);
+    String getCatalogVersion();
     void delete(UUID id);
 }
 
@@ -0,0 +1,91 @@
+package com.fixsync.server.service;
+
+import com.fixsync.server.dto.response.StorageHealthResponse;
+import com.fixsync.server.entity.enums.EntityType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Where media bytes live. Exactly one implementation is active, selected by {@code file.upload.storage-type};
+ * a new backend is a new bean with its own storage-type value, MediaServiceImpl only talks to this interface.
+ * <p>
+ * Keys are what {@code Media.filePath} stores; they are produced by {@link #newKey} and are opaque to callers.
+ */
+public interface StorageBackend {
+    
+    // Code point order, the same as UTF-8 byte order: S3 listings and PostgreSQL COLLATE "C" sort this way
+    Comparator<String> KEY_ORDER = (left, right) -> {
+        int leftIndex = 0;
+        int rightIndex = 0;
+        while (leftIndex < left.length() && rightIndex < right.length()) {
+            int leftCodePoint = left.codePointAt(leftIndex);
+            int rightCodePoint = right.codePointAt(rightIndex);
+            if (leftCodePoint != rightCodePoint) {
+                return Integer.compare(leftCodePoint, rightCodePoint);
+            }
+            leftIndex += Character.charCount(leftCodePoint);
+            rightIndex += Character.charCount(rightCodePoint);
+        }
+        return Integer.compare(left.length() - leftIndex, right.length() - rightIndex);
+    };
+    
+    String getType();
+    
+    // Key for a new object; derivatives are stored as siblings of it (MediaVariant.resolvePath)
+    String newKey(EntityType entityType, UUID entityId, String storedFilename);
+    
+    // Stores the whole stream under key and returns the number of bytes written; nothing is left behind on failure
+    long store(String key, InputStream inputStream, String contentType) throws IOException;
+    
+    InputStream open(String key) throws IOException;
+    
+    // Byte range [start, end] (inclusive)
+    InputStream open(String key, long start, long end) throws IOException;
+    
+    Optional<StoredObject> stat(String key);
+    
+    void delete(String key) throws IOException;
+    
+    // Every stored media object in KEY_ORDER, fetched lazily; the caller closes the stream
+    Stream<ListedObject> list() throws IOException;
+    
+    StorageHealthResponse health();
+    
+    // File on the local filesystem for zero-copy sending, null when the backend is remote
+    default Path localPath(String key) {
+        return null;
+    }
+    
+    // URL clients can fetch directly, empty when content is served through the API
+    default Optional<String> directUrl(String key) {
+        return Optional.empty();
+    }
+    
+    // Forget anything cached for a deleted key
+    default void evictUrl(String key) {
+    }
+    
+    // Whether clients can upload straight to the backend (presignUpload)
+    default boolean supportsDirectUpload() {
+        return false;
+    }
+    
+    // Presigned PUT URL for key, empty when the backend does not support direct upload
+    default Optional<URL> presignUpload(String key, String contentType, long contentLength, long expirationMinutes) {
+        return Optional.empty();
+    }
+    
+    record StoredObject(long size, String contentType) {
+    }
+    
+    record ListedObject(String key, long size, Instant lastModified) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.fixsync.server.service;
 
 import com.fixsync.server.dto.request.TransactionRequest;
+import com.fixsync.server.dto.response.CursorResponse;
 import com.fixsync.server.dto.response.PageResponse;
 import com.fixsync.server.dto.response.TransactionResponse;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +17,7 @@ public interface TransactionService {
     Optional<TransactionResponse> getTransactionByDeviceId(UUID deviceId);
     PageResponse<TransactionResponse> getTransactionsByDeviceId(UUID deviceId, Pageable pageable);
     PageResponse<TransactionResponse> getAllTransactions(Pageable pageable);
+    CursorResponse<TransactionResponse> getAllTransactions(String after, int size);
     Long calculateRevenue(LocalDateTime startDate, LocalDateTime endDate);
     void deleteTransaction(UUID id);
 }
@@ -2,6 +2,7 @@ package com.fixsync.server.service;
 
 import com.fixsync.server.entity.User;
 import com.fixsync.server.repository.UserRepository;
+import com.fixsync.server.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -28,6 +29,11 @@ public class UserContextService {
     }
     
     public UUID getCurrentUserId() {
+        // Principal resolved by JwtAuthenticationFilter already carries the id -> no query
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
         return getCurrentUser().getId();
     }
 }
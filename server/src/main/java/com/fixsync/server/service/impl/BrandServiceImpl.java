@@ -7,6 +7,7 @@ import com.fixsync.server.exception.ResourceNotFoundException;
 import com.fixsync.server.mapper.BrandMapper;
 import com.fixsync.server.repository.BrandRepository;
 import com.fixsync.server.service.BrandService;
+import com.fixsync.server.service.CatalogCacheService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -22,12 +23,16 @@ public class BrandServiceImpl implements BrandService {
     
     private final BrandRepository brandRepository;
     private final BrandMapper brandMapper;
+    private final CatalogCacheService catalogCacheService;
     
     @Override
-    @Transactional(readOnly = true)
     public List<BrandResponse> getAllActiveBrands() {
-        List<Brand> brands = brandRepository.findByIsActiveTrue(Pageable.unpaged()).getContent();
-        return brandMapper.toResponseList(brands);
+        return catalogCacheService.getActiveBrands();
+    }
+    
+    @Override
+    public String getCatalogVersion() {
+        return "brands-" + catalogCacheService.getBrandsVersion();
     }
     
     @Override
@@ -47,11 +52,8 @@ public class BrandServiceImpl implements BrandService {
     }
     
     @Override
-    @Transactional(readOnly = true)
     public BrandResponse getBrandById(UUID id) {
-        Brand brand = brandRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Hãng", "id", id));
-        return brandMapper.toResponse(brand);
+        return catalogCacheService.getBrand(id);
     }
 
     @Override
@@ -60,6 +62,7 @@ public class BrandServiceImpl implements BrandService {
         Brand entity = brandMapper.toEntity(request);
         entity.setId(null);
         entity = brandRepository.save(entity);
+        catalogCacheService.evictBrands();
         return brandMapper.toResponse(entity);
     }
 
@@ -70,6 +73,7 @@ public class BrandServiceImpl implements BrandService {
                 .orElseThrow(() -> new ResourceNotFoundException("Hãng", "id", id));
         brandMapper.updateEntity(entity, request);
         entity = brandRepository.save(entity);
+        catalogCacheService.evictBrands();
         return brandMapper.toResponse(entity);
     }
 
@@ -79,6 +83,7 @@ public class BrandServiceImpl implements BrandService {
         Brand entity = brandRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Hãng", "id", id));
         brandRepository.delete(entity);
+        catalogCacheService.evictBrands();
     }
 }
 
@@ -0,0 +1,279 @@
+package com.fixsync.server.service.impl;
+
+import com.fixsync.server.dto.response.BrandResponse;
+import com.fixsync.server.dto.response.CacheStatsResponse;
+import com.fixsync.server.dto.response.DeviceModelResponse;
+import com.fixsync.server.dto.response.ServiceCatalogResponse;
+import com.fixsync.server.exception.ResourceNotFoundException;
+import com.fixsync.server.mapper.BrandMapper;
+import com.fixsync.server.mapper.DeviceModelMapper;
+import com.fixsync.server.mapper.ServiceCatalogMapper;
+import com.fixsync.server.repository.BrandRepository;
+import com.fixsync.server.repository.DeviceModelRepository;
+import com.fixsync.server.repository.ServiceCatalogRepository;
+import com.fixsync.server.service.CatalogCacheService;
+import com.fixsync.server.util.BoundedCache;
+import com.fixsync.server.util.TextNormalizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cached values are response DTOs (no entities, nothing lazy), loaded in their own read-only transaction
+ * (REQUIRES_NEW): a caller's transaction is suspended, so only committed catalog rows are ever cached, never the
+ * uncommitted writes of a transaction that may still roll back. Callers therefore need no transaction of their own:
+ * a cache hit touches neither the connection pool nor the database. A miss inside a caller's transaction holds a
+ * second pooled connection for the duration of the load.
+ */
+@Service
+public class CatalogCacheServiceImpl implements CatalogCacheService {
+    
+    private static final String ACTIVE = "active";
+    private static final String VERSION_SQL = "SELECT version FROM catalog_versions WHERE table_name = ?";
+    
+    private final BrandRepository brandRepository;
+    private final DeviceModelRepository deviceModelRepository;
+    private final ServiceCatalogRepository serviceCatalogRepository;
+    private final BrandMapper brandMapper;
+    private final DeviceModelMapper deviceModelMapper;
+    private final ServiceCatalogMapper serviceCatalogMapper;
+    private final TransactionTemplate readTransaction;
+    private final JdbcTemplate jdbcTemplate;
+    // Last change counter read per table; caches are dropped when it moves
+    private final Map<String, Long> seenVersions = new ConcurrentHashMap<>();
+    
+    private final BoundedCache<String, List<BrandResponse>> activeBrands;
+    private final BoundedCache<UUID, BrandResponse> brands;
+    private final BoundedCache<UUID, List<DeviceModelResponse>> activeModelsByBrand;
+    private final BoundedCache<UUID, DeviceModelResponse> models;
+    private final BoundedCache<String, List<ServiceCatalogResponse>> activeServices;
+    private final BoundedCache<UUID, ServiceCatalogResponse> services;
+    private final BoundedCache<String, ServiceDictionary> serviceDictionary;
+    
+    public CatalogCacheServiceImpl(BrandRepository brandRepository,
+                                   DeviceModelRepository deviceModelRepository,
+                                   ServiceCatalogRepository serviceCatalogRepository,
+                                   BrandMapper brandMapper,
+                                   DeviceModelMapper deviceModelMapper,
+                                   ServiceCatalogMapper serviceCatalogMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   JdbcTemplate jdbcTemplate,
+                                   @Value("${cache.catalog.max-entries:2000}") int maxEntries,
+                                   @Value("${cache.catalog.ttl-seconds:600}") long ttlSeconds) {
+        this.brandRepository = brandRepository;
+        this.deviceModelRepository = deviceModelRepository;
+        this.serviceCatalogRepository = serviceCatalogRepository;
+        this.brandMapper = brandMapper;
+        this.deviceModelMapper = deviceModelMapper;
+        this.serviceCatalogMapper = serviceCatalogMapper;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.jdbcTemplate = jdbcTemplate;
+        
+        this.activeBrands = new BoundedCache<>("brands.active", 1, ttlSeconds);
+        this.brands = new BoundedCache<>("brands", maxEntries, ttlSeconds);
+        this.activeModelsByBrand = new BoundedCache<>("models.active-by-brand", maxEntries, ttlSeconds);
+        this.models = new BoundedCache<>("models", maxEntries, ttlSeconds);
+        this.activeServices = new BoundedCache<>("services.active", 1, ttlSeconds);
+        this.services = new BoundedCache<>("services", maxEntries, ttlSeconds);
+        this.serviceDictionary = new BoundedCache<>("services.dictionary", 1, ttlSeconds);
+    }
+    
+    @Override
+    public List<BrandResponse> getActiveBrands() {
+        return activeBrands.get(ACTIVE, () -> load(() -> List.copyOf(
+                brandMapper.toResponseList(brandRepository.findByIsActiveTrue(Pageable.unpaged()).getContent()))));
+    }
+    
+    @Override
+    public BrandResponse getBrand(UUID id) {
+        return brands.get(id, () -> load(() -> brandMapper.toResponse(brandRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Hãng", "id", id)))));
+    }
+    
+    @Override
+    public List<DeviceModelResponse> getActiveModelsByBrand(UUID brandId) {
+        return activeModelsByBrand.get(brandId, () -> load(() -> List.copyOf(
+                deviceModelMapper.toResponseList(deviceModelRepository.findByBrandIdAndIsActiveTrue(brandId)))));
+    }
+    
+    @Override
+    public DeviceModelResponse getModel(UUID id) {
+        return models.get(id, () -> load(() -> deviceModelMapper.toResponse(deviceModelRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Model", "id", id)))));
+    }
+    
+    @Override
+    public List<ServiceCatalogResponse> getActiveServices() {
+        return activeServices.get(ACTIVE, () -> load(() -> List.copyOf(
+                serviceCatalogMapper.toResponseList(serviceCatalogRepository.findByIsActiveTrue()))));
+    }
+    
+    @Override
+    public ServiceCatalogResponse getService(UUID id) {
+        return services.get(id, () -> load(() -> serviceCatalogMapper.toResponse(serviceCatalogRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Dịch vụ", "id", id)))));
+    }
+    
+    @Override
+    public Optional<ServiceCatalogResponse> findServiceByName(String name) {
+        return Optional.ofNullable(serviceDictionary().byName().get(TextNormalizer.searchKey(name)));
+    }
+    
+    @Override
+    public List<ServiceCatalogResponse> suggestServices(String query, int limit) {
+        String term = TextNormalizer.searchKey(query);
+        NavigableMap<String, ServiceCatalogResponse> activeByName = serviceDictionary().activeByName();
+        List<ServiceCatalogResponse> suggestions = new ArrayList<>();
+        for (Map.Entry<String, ServiceCatalogResponse> entry : activeByName.tailMap(term, true).entrySet()) {
+            if (suggestions.size() >= limit || !entry.getKey().startsWith(term)) {
+                break;
+            }
+            suggestions.add(entry.getValue());
+        }
+        String wordPrefix = " " + term;
+        for (Map.Entry<String, ServiceCatalogResponse> entry : activeByName.entrySet()) {
+            if (suggestions.size() >= limit) {
+                break;
+            }
+            if (!entry.getKey().startsWith(term) && entry.getKey().contains(wordPrefix)) {
+                suggestions.add(entry.getValue());
+            }
+        }
+        return suggestions;
+    }
+    
+    @Override
+    public long getBrandsVersion() {
+        return version("brands", this::invalidateBrands);
+    }
+    
+    @Override
+    public long getModelsVersion() {
+        return version("device_models", this::invalidateModels);
+    }
+    
+    @Override
+    public long getServicesVersion() {
+        return version("service_catalog", this::invalidateServices);
+    }
+    
+    @Override
+    public void evictBrands() {
+        afterCommit(this::invalidateBrands);
+    }
+    
+    @Override
+    public void evictModels() {
+        afterCommit(this::invalidateModels);
+    }
+    
+    @Override
+    public void evictServices() {
+        afterCommit(this::invalidateServices);
+    }
+    
+    @Override
+    public void evictAll() {
+        evictBrands();
+        evictServices();
+    }
+    
+    @Override
+    public List<CacheStatsResponse> getStats() {
+        return List.of(activeBrands.stats(), brands.stats(), activeModelsByBrand.stats(), models.stats(),
+                activeServices.stats(), services.stats(), serviceDictionary.stats());
+    }
+    
+    // The whole catalog is small: one query builds the dictionary, name lookups are then hash lookups
+    private ServiceDictionary serviceDictionary() {
+        return serviceDictionary.get(ACTIVE, () -> load(() -> ServiceDictionary.of(
+                serviceCatalogMapper.toResponseList(serviceCatalogRepository.findAll()))));
+    }
+    
+    // First read after startup invalidates too: entries cached before it may predate the version
+    private long version(String table, Runnable invalidation) {
+        Long version = jdbcTemplate.queryForObject(VERSION_SQL, Long.class, table);
+        long current = version != null ? version : 0;
+        Long previous = seenVersions.put(table, current);
+        if (previous == null || previous != current) {
+            invalidation.run();
+        }
+        return current;
+    }
+    
+    private void invalidateBrands() {
+        activeBrands.invalidateAll();
+        brands.invalidateAll();
+        // Models carry the brand name
+        invalidateModels();
+    }
+    
+    private void invalidateModels() {
+        activeModelsByBrand.invalidateAll();
+        models.invalidateAll();
+    }
+    
+    private void invalidateServices() {
+        activeServices.invalidateAll();
+        services.invalidateAll();
+        serviceDictionary.invalidateAll();
+    }
+    
+    private <T> T load(Supplier<T> query) {
+        return readTransaction.execute(status -> query.get());
+    }
+    
+    // Evicting before commit would let a concurrent reader cache the old row again until the TTL runs out
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+    
+    /**
+     * Every service by normalized name (exact lookups) and the active ones sorted by it (prefix suggestions)
+     */
+    private record ServiceDictionary(Map<String, ServiceCatalogResponse> byName,
+                                     NavigableMap<String, ServiceCatalogResponse> activeByName) {
+        
+        static ServiceDictionary of(List<ServiceCatalogResponse> services) {
+            Map<String, ServiceCatalogResponse> byName = new HashMap<>();
+            NavigableMap<String, ServiceCatalogResponse> activeByName = new TreeMap<>();
+            for (ServiceCatalogResponse service : services) {
+                String key = TextNormalizer.searchKey(service.getName());
+                byName.put(key, service);
+                if (Boolean.TRUE.equals(service.getIsActive())) {
+                    activeByName.put(key, service);
+                }
+            }
+            return new ServiceDictionary(Map.copyOf(byName), Collections.unmodifiableNavigableMap(activeByName));
+        }
+    }
+}
@@ -8,18 +8,26 @@ import com.fixsync.server.exception.ResourceNotFoundException;
 import com.fixsync.server.mapper.CustomerMapper;
 import com.fixsync.server.repository.CustomerRepository;
 import com.fixsync.server.service.CustomerService;
+import com.fixsync.server.util.TextNormalizer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class CustomerServiceImpl implements CustomerService {
 
+    private static final int MAX_SUGGESTIONS = 20;
+    // Shortest term the trigram indexes can serve; shorter names fall back to a prefix match
+    private static final int MIN_TRIGRAM_LENGTH = 3;
+    private static final int MIN_PHONE_DIGITS = 3;
+
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
 
@@ -55,7 +63,15 @@ public class CustomerServiceImpl implements CustomerService {
     public PageResponse<CustomerResponse> getCustomers(String search, Pageable pageable) {
         Page<Customer> page;
         if (search != null && !search.isBlank()) {
-            page = customerRepository.searchCustomers(search, pageable);
+            // Matches are ranked by relevance, the caller's sort only applies to the plain listing
+            Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+            String key = TextNormalizer.searchKey(search);
+            String phone = phoneSearchKey(search);
+            if (key.length() >= MIN_TRIGRAM_LENGTH || !phone.isEmpty()) {
+                page = customerRepository.searchCustomers(TextNormalizer.escapeLike(key), phone, key, unsorted);
+            } else {
+                page = customerRepository.searchCustomersByNamePrefix(TextNormalizer.escapeLike(key), unsorted);
+            }
         } else {
             page = customerRepository.findAll(pageable);
         }
@@ -71,6 +87,22 @@ public class CustomerServiceImpl implements CustomerService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerResponse> suggestCustomers(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        String term = TextNormalizer.searchKey(query);
+        String phone = phoneSearchKey(query);
+        int size = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+        // First keystrokes: too short for the trigram index, complete the name prefix instead
+        List<Customer> customers = term.length() >= MIN_TRIGRAM_LENGTH || !phone.isEmpty()
+                ? customerRepository.suggestCustomers(term, TextNormalizer.escapeLike(term), phone, size)
+                : customerRepository.suggestCustomersByNamePrefix(TextNormalizer.escapeLike(term), size);
+        return customerMapper.toResponseList(customers);
+    }
+
     @Override
     @Transactional
     public void deleteCustomer(UUID id) {
@@ -78,11 +110,12 @@ public class CustomerServiceImpl implements CustomerService {
                 .orElseThrow(() -> new ResourceNotFoundException("Khách hàng", "id", id));
         customerRepository.delete(customer);
     }
-}
-
-
-
-
-
-
 
+    /**
+     * Digits of the query for phone matching, '' when too short to use the trigram index
+     */
+    private String phoneSearchKey(String query) {
+        String digits = TextNormalizer.normalizePhone(query);
+        return digits.length() >= MIN_PHONE_DIGITS ? TextNormalizer.escapeLike(digits) : "";
+    }
+}
@@ -8,6 +8,7 @@ import com.fixsync.server.exception.ResourceNotFoundException;
 import com.fixsync.server.mapper.DeviceModelMapper;
 import com.fixsync.server.repository.BrandRepository;
 import com.fixsync.server.repository.DeviceModelRepository;
+import com.fixsync.server.service.CatalogCacheService;
 import com.fixsync.server.service.DeviceModelService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -25,12 +26,17 @@ public class DeviceModelServiceImpl implements DeviceModelService {
     private final DeviceModelRepository deviceModelRepository;
     private final BrandRepository brandRepository;
     private final DeviceModelMapper deviceModelMapper;
+    private final CatalogCacheService catalogCacheService;
     
     @Override
-    @Transactional(readOnly = true)
     public List<DeviceModelResponse> getModelsByBrandId(UUID brandId) {
-        List<DeviceModel> models = deviceModelRepository.findByBrandIdAndIsActiveTrue(brandId);
-        return deviceModelMapper.toResponseList(models);
+        return catalogCacheService.getActiveModelsByBrand(brandId);
+    }
+    
+    @Override
+    public String getCatalogVersion() {
+        // Model responses include the brand name
+        return "models-" + catalogCacheService.getBrandsVersion() + "." + catalogCacheService.getModelsVersion();
     }
     
     @Override
@@ -57,11 +63,8 @@ public class DeviceModelServiceImpl implements DeviceModelService {
     }
     
     @Override
-    @Transactional(readOnly = true)
     public DeviceModelResponse getModelById(UUID id) {
-        DeviceModel model = deviceModelRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Model", "id", id));
-        return deviceModelMapper.toResponse(model);
+        return catalogCacheService.getModel(id);
     }
 
     @Override
@@ -72,6 +75,7 @@ public class DeviceModelServiceImpl implements DeviceModelService {
         DeviceModel entity = deviceModelMapper.toEntity(request);
         entity.setBrand(brand);
         entity = deviceModelRepository.save(entity);
+        catalogCacheService.evictModels();
         return deviceModelMapper.toResponse(entity);
     }
 
@@ -87,6 +91,7 @@ public class DeviceModelServiceImpl implements DeviceModelService {
             entity.setBrand(brand);
         }
         entity = deviceModelRepository.save(entity);
+        catalogCacheService.evictModels();
         return deviceModelMapper.toResponse(entity);
     }
 
@@ -96,6 +101,7 @@ public class DeviceModelServiceImpl implements DeviceModelService {
         DeviceModel entity = deviceModelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Model", "id", id));
         deviceModelRepository.delete(entity);
+        catalogCacheService.evictModels();
     }
 }
 
@@ -1,11 +1,15 @@
 package com.fixsync.server.service.impl;
 
 import com.fixsync.server.dto.request.DeviceRequest;
+import com.fixsync.server.dto.request.DeviceSearchRequest;
+import com.fixsync.server.dto.response.BrandResponse;
+import com.fixsync.server.dto.response.CursorResponse;
+import com.fixsync.server.dto.response.DeviceModelResponse;
 import com.fixsync.server.dto.response.DeviceResponse;
 import com.fixsync.server.dto.response.PageResponse;
-import com.fixsync.server.entity.Brand;
 import com.fixsync.server.entity.Device;
-import com.fixsync.server.entity.DeviceModel;
+import com.fixsync.server.entity.RepairItem;
+import com.fixsync.server.entity.Transaction;
 import com.fixsync.server.entity.User;
 import com.fixsync.server.entity.enums.ActionType;
 import com.fixsync.server.exception.ResourceNotFoundException;
@@ -21,22 +25,36 @@ import com.fixsync.server.repository.RepairItemRepository;
 import com.fixsync.server.repository.RepairSessionRepository;
 import com.fixsync.server.repository.TransactionRepository;
 import com.fixsync.server.repository.UserRepository;
+import com.fixsync.server.repository.projection.DeviceFinancials;
+import com.fixsync.server.repository.specification.DeviceSpecifications;
+import com.fixsync.server.service.CatalogCacheService;
 import com.fixsync.server.service.DeviceService;
 import com.fixsync.server.service.RealtimeLogService;
 import com.fixsync.server.mapper.RepairItemMapper;
 import com.fixsync.server.mapper.TransactionMapper;
+import com.fixsync.server.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class DeviceServiceImpl implements DeviceService {
     
+    private static final String INCLUDE_REPAIR_ITEMS = "repairItems";
+    private static final String INCLUDE_TRANSACTION = "transaction";
+    
     private final DeviceRepository deviceRepository;
     private final UserRepository userRepository;
     private final BrandRepository brandRepository;
@@ -52,6 +70,7 @@ public class DeviceServiceImpl implements DeviceService {
     private final TransactionMapper transactionMapper;
     private final RealtimeLogService realtimeLogService;
     private final RepairSessionRepository repairSessionRepository;
+    private final CatalogCacheService catalogCacheService;
     
     @Override
     @Transactional
@@ -59,17 +78,14 @@ public class DeviceServiceImpl implements DeviceService {
         User createdBy = userRepository.findById(createdById)
                 .orElseThrow(() -> new ResourceNotFoundException("Người dùng", "id", createdById));
         
-        // Load brand and model
-        Brand brand = brandRepository.findById(request.getBrandId())
-                .orElseThrow(() -> new ResourceNotFoundException("Hãng", "id", request.getBrandId()));
-        
-        DeviceModel model = deviceModelRepository.findById(request.getModelId())
-                .orElseThrow(() -> new ResourceNotFoundException("Model", "id", request.getModelId()));
+        // Brand and model come from the catalog cache, the associations only need references
+        BrandResponse brand = catalogCacheService.getBrand(request.getBrandId());
+        DeviceModelResponse model = catalogCacheService.getModel(request.getModelId());
         
         Device device = deviceMapper.toEntity(request);
         device.setCreatedBy(createdBy);
-        device.setBrandEntity(brand);
-        device.setModelEntity(model);
+        device.setBrandEntity(brandRepository.getReferenceById(brand.getId()));
+        device.setModelEntity(deviceModelRepository.getReferenceById(model.getId()));
         
         // Set legacy fields for backward compatibility
         device.setBrand(brand.getName());
@@ -112,7 +128,7 @@ public class DeviceServiceImpl implements DeviceService {
         UUID deviceId = savedDevice.getId();
         
         // Log action
-        realtimeLogService.createLog(deviceId, ActionType.CREATED, 
+        realtimeLogService.recordLog(deviceId, ActionType.CREATED, 
                 "Thiết bị được tạo mới", createdById);
         
         // Reload device with EntityGraph to ensure brandEntity and modelEntity are loaded
@@ -130,16 +146,14 @@ public class DeviceServiceImpl implements DeviceService {
         
         // Update brand and model if provided
         if (request.getBrandId() != null) {
-            Brand brand = brandRepository.findById(request.getBrandId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Hãng", "id", request.getBrandId()));
-            device.setBrandEntity(brand);
+            BrandResponse brand = catalogCacheService.getBrand(request.getBrandId());
+            device.setBrandEntity(brandRepository.getReferenceById(brand.getId()));
             device.setBrand(brand.getName());
         }
         
         if (request.getModelId() != null) {
-            DeviceModel model = deviceModelRepository.findById(request.getModelId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Model", "id", request.getModelId()));
-            device.setModelEntity(model);
+            DeviceModelResponse model = catalogCacheService.getModel(request.getModelId());
+            device.setModelEntity(deviceModelRepository.getReferenceById(model.getId()));
             device.setModel(model.getName());
             // Re-resolve deviceType to avoid null constraint issues
             String resolvedDeviceType = request.getDeviceType();
@@ -186,7 +200,7 @@ public class DeviceServiceImpl implements DeviceService {
         UUID deviceId = savedDevice.getId();
 
         // Log action
-        realtimeLogService.createLog(deviceId, ActionType.UPDATED,
+        realtimeLogService.recordLog(deviceId, ActionType.UPDATED,
                 "Thiết bị được cập nhật", savedDevice.getCreatedBy().getId());
 
         Device reloadedDevice = deviceRepository.findById(deviceId)
@@ -205,16 +219,11 @@ public class DeviceServiceImpl implements DeviceService {
     
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<DeviceResponse> getAllDevices(Pageable pageable) {
+    public PageResponse<DeviceResponse> getAllDevices(Pageable pageable, Set<String> include) {
         Page<Device> devices = deviceRepository.findAll(pageable);
         
-        // Map each device with brand and model objects
-        java.util.List<DeviceResponse> deviceResponses = devices.getContent().stream()
-                .map(this::mapToResponse)
-                .toList();
-        
         return PageResponse.<DeviceResponse>builder()
-                .content(deviceResponses)
+                .content(mapListResponses(devices.getContent(), include))
                 .page(devices.getNumber())
                 .size(devices.getSize())
                 .totalElements(devices.getTotalElements())
@@ -224,6 +233,72 @@ public class DeviceServiceImpl implements DeviceService {
                 .build();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<DeviceResponse> getAllDevices(String after, int size, Set<String> include) {
+        Window<Device> devices = deviceRepository.findAllBy(
+                KeysetCursor.decode(after), KeysetCursor.limit(size), KeysetCursor.SORT);
+        return KeysetCursor.toResponse(devices, mapListResponses(devices.getContent(), include));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<DeviceResponse> searchDevices(DeviceSearchRequest request, Pageable pageable, Set<String> include) {
+        // Slice, not Page: counting every match of a broad filter would scan far more than the page itself
+        Slice<Device> devices = deviceRepository.searchSlice(DeviceSpecifications.fromSearch(request), pageable);
+        
+        return PageResponse.<DeviceResponse>builder()
+                .content(mapListResponses(devices.getContent(), include))
+                .page(devices.getNumber())
+                .size(devices.getSize())
+                .first(devices.isFirst())
+                .last(devices.isLast())
+                .build();
+    }
+    
+    /**
+     * Map a page/slice of devices: financials and requested expansions are batch loaded (fixed number of queries)
+     */
+    private List<DeviceResponse> mapListResponses(List<Device> devices, Set<String> include) {
+        List<UUID> deviceIds = devices.stream()
+                .map(Device::getId)
+                .toList();
+        boolean includeRepairItems = include != null && include.contains(INCLUDE_REPAIR_ITEMS);
+        boolean includeTransaction = include != null && include.contains(INCLUDE_TRANSACTION);
+        
+        // Financial summary for the whole page in one grouped query
+        Map<UUID, DeviceFinancials> financialsByDevice = deviceIds.isEmpty()
+                ? Map.of()
+                : deviceRepository.findFinancialsByDeviceIdIn(deviceIds).stream()
+                        .collect(Collectors.toMap(DeviceFinancials::getDeviceId, Function.identity()));
+        
+        // Expansions are batch loaded only when requested (fixed number of queries)
+        Map<UUID, List<RepairItem>> repairItemsByDevice = !includeRepairItems || deviceIds.isEmpty()
+                ? Map.of()
+                : repairItemRepository.findByDeviceIdIn(deviceIds).stream()
+                        .collect(Collectors.groupingBy(ri -> ri.getDevice().getId()));
+        Map<UUID, Transaction> latestTransactionByDevice = !includeTransaction || deviceIds.isEmpty()
+                ? Map.of()
+                : transactionRepository.findLatestByDeviceIdIn(deviceIds).stream()
+                        .collect(Collectors.toMap(tx -> tx.getDevice().getId(), Function.identity()));
+        
+        return devices.stream()
+                .map(device -> {
+                    DeviceResponse response = mapBaseResponse(device);
+                    applyFinancials(response, financialsByDevice.get(device.getId()));
+                    if (includeRepairItems) {
+                        response.setRepairItems(repairItemMapper.toResponseList(
+                                repairItemsByDevice.getOrDefault(device.getId(), List.of())));
+                    }
+                    Transaction latestTransaction = latestTransactionByDevice.get(device.getId());
+                    if (latestTransaction != null) {
+                        response.setTransaction(transactionMapper.toResponse(latestTransaction));
+                    }
+                    return response;
+                })
+                .toList();
+    }
+    
     @Override
     @Transactional
     public void deleteDevice(UUID id) {
@@ -236,6 +311,46 @@ public class DeviceServiceImpl implements DeviceService {
      * Helper method to map Device to DeviceResponse with brand and model objects
      */
     private DeviceResponse mapToResponse(Device device) {
+        List<RepairItem> repairItems = repairItemRepository.findByDeviceId(device.getId());
+        Transaction latestTransaction = transactionRepository.findTopByDeviceIdOrderByCreatedAtDesc(device.getId())
+                .orElse(null);
+        return mapToResponse(device, repairItems, latestTransaction);
+    }
+    
+    /**
+     * Map Device to DeviceResponse from already loaded repair items and latest transaction (no extra queries)
+     */
+    private DeviceResponse mapToResponse(Device device, List<RepairItem> repairItems, Transaction latestTransaction) {
+        DeviceResponse response = mapBaseResponse(device);
+
+        // Map repair items
+        response.setRepairItems(repairItemMapper.toResponseList(repairItems));
+
+        // Compute subtotal from repair items (ignore null costs)
+        int subtotal = repairItems.stream()
+                .map(ri -> ri.getCost() == null ? 0 : ri.getCost())
+                .reduce(0, Integer::sum);
+        response.setRepairSubtotal(subtotal);
+
+        // Map latest transaction (if any) by device (latest created)
+        if (latestTransaction != null) {
+            response.setTransaction(transactionMapper.toResponse(latestTransaction));
+        }
+
+        // Compute outstanding = subtotal - finalAmount (never negative)
+        Integer latestFinalAmount = latestTransaction != null ? latestTransaction.getFinalAmount() : null;
+        response.setLatestFinalAmount(latestFinalAmount);
+        int finalAmount = latestFinalAmount != null ? latestFinalAmount : 0;
+        int outstanding = Math.max(0, subtotal - finalAmount);
+        response.setOutstandingAmount(outstanding);
+        
+        return response;
+    }
+    
+    /**
+     * Map device fields, customer, brand and model (relations already fetched by the entity graph)
+     */
+    private DeviceResponse mapBaseResponse(Device device) {
         DeviceResponse response = deviceMapper.toResponse(device);
         
         // Map customer to CustomerResponse object
@@ -259,32 +374,21 @@ public class DeviceServiceImpl implements DeviceService {
         if (device.getModelEntity() != null) {
             response.setModel(deviceModelMapper.toResponse(device.getModelEntity()));
         }
-
-        // Map repair items
-        var repairItems = repairItemRepository.findByDeviceId(device.getId());
-        var repairItemResponses = repairItemMapper.toResponseList(repairItems);
-        response.setRepairItems(repairItemResponses);
-
-        // Compute subtotal from repair items (ignore null costs)
-        int subtotal = repairItems.stream()
-                .map(ri -> ri.getCost() == null ? 0 : ri.getCost())
-                .reduce(0, Integer::sum);
-        response.setRepairSubtotal(subtotal);
-
-        // Map latest transaction (if any) by device (latest created)
-        transactionRepository.findTopByDeviceIdOrderByCreatedAtDesc(device.getId())
-                .ifPresent(tx -> response.setTransaction(transactionMapper.toResponse(tx)));
-
-        // Compute outstanding = subtotal - finalAmount (never negative)
-        int finalAmount = response.getTransaction() != null && response.getTransaction().getFinalAmount() != null
-                ? response.getTransaction().getFinalAmount()
-                : 0;
-        int outstanding = Math.max(0, subtotal - finalAmount);
-        response.setOutstandingAmount(outstanding);
         
         return response;
     }
+    
+    /**
+     * Apply aggregated totals from the financials read model
+     */
+    private void applyFinancials(DeviceResponse response, DeviceFinancials financials) {
+        if (financials == null) {
+            response.setRepairSubtotal(0);
+            response.setOutstandingAmount(0);
+            return;
+        }
+        response.setRepairSubtotal(financials.getRepairSubtotal() != null ? financials.getRepairSubtotal().intValue() : 0);
+        response.setLatestFinalAmount(financials.getLatestFinalAmount());
+        response.setOutstandingAmount(financials.getOutstandingAmount());
+    }
 }
-
-
-
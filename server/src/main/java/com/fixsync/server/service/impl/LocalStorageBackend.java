@@ -0,0 +1,277 @@
+package com.fixsync.server.service.impl;
+
+import com.fixsync.server.config.FileStorageConfig;
+import com.fixsync.server.dto.response.StorageHealthResponse;
+import com.fixsync.server.entity.enums.EntityType;
+import com.fixsync.server.service.StorageBackend;
+import com.fixsync.server.util.BoundedInputStream;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Local filesystem storage under {@code file.upload.dir}.
+ * <p>
+ * New files are sharded into two levels of hashed subdirectories ({@code ab/cd/<storedFilename>}, 65536 leaves)
+ * so no directory grows large. Writes go to a temp file on the same filesystem, are fsynced according to
+ * {@code file.upload.local.fsync} and atomically moved into place: readers never see a partial file.
+ * Files stored flat before sharding keep their absolute path as key and stay readable.
+ * <p>
+ * Listing walks the shard tree in order and only ever sorts one directory at a time. Shard names have a fixed
+ * length, so that order is also the order of the full keys; flat legacy files are listed first (absolute keys
+ * start with '/', below any shard name on Unix-like systems).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.upload.storage-type", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LocalStorageBackend implements StorageBackend {
+    
+    private static final String TEMP_DIRECTORY = ".tmp";
+    private static final Pattern SHARD_NAME = Pattern.compile("[0-9a-f]{2}");
+    
+    private final FileStorageConfig fileStorageConfig;
+    
+    private Path root;
+    private Path tempDirectory;
+    
+    @PostConstruct
+    public void init() {
+        root = fileStorageConfig.getUploadPath();
+        tempDirectory = root.resolve(TEMP_DIRECTORY);
+        try {
+            Files.createDirectories(tempDirectory);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
+        }
+        // Anything left in the temp directory is from writes interrupted by a previous shutdown
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(tempDirectory)) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        } catch (IOException ex) {
+            log.warn("Could not clean temp upload directory {}", tempDirectory, ex);
+        }
+    }
+    
+    @Override
+    public String getType() {
+        return "local";
+    }
+    
+    @Override
+    public String newKey(EntityType entityType, UUID entityId, String storedFilename) {
+        String hash = sha256Hex(storedFilename);
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + storedFilename;
+    }
+    
+    @Override
+    public long store(String key, InputStream inputStream, String contentType) throws IOException {
+        ensureCapacity();
+        Path target = resolve(key);
+        Path temp = Files.createTempFile(tempDirectory, "upload-", ".part");
+        FileStorageConfig.FsyncPolicy fsync = fileStorageConfig.getLocal().getFsync();
+        try {
+            long size;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 OutputStream outputStream = Channels.newOutputStream(channel)) {
+                size = inputStream.transferTo(outputStream);
+                if (fsync != FileStorageConfig.FsyncPolicy.NONE) {
+                    channel.force(true);
+                }
+            }
+            
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (fsync == FileStorageConfig.FsyncPolicy.FILE_AND_DIRECTORY) {
+                syncDirectory(target.getParent());
+            }
+            return size;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+    
+    @Override
+    public InputStream open(String key, long start, long end) throws IOException {
+        InputStream inputStream = Files.newInputStream(resolve(key));
+        try {
+            inputStream.skipNBytes(start);
+        } catch (IOException ex) {
+            inputStream.close();
+            throw ex;
+        }
+        return new BoundedInputStream(inputStream, end - start + 1);
+    }
+    
+    @Override
+    public Optional<StoredObject> stat(String key) {
+        try {
+            return Optional.of(new StoredObject(Files.size(resolve(key)), null));
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not read file " + key, ex);
+        }
+    }
+    
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+    
+    @Override
+    public Stream<ListedObject> list() throws IOException {
+        List<Path> rootEntries = sortedEntries(root);
+        Stream<ListedObject> legacy = rootEntries.stream()
+                .map(file -> listed(file.toString(), file));
+        Stream<ListedObject> sharded = rootEntries.stream()
+                .filter(LocalStorageBackend::isShard)
+                .flatMap(first -> uncheckedSortedEntries(first).stream()
+                        .filter(LocalStorageBackend::isShard)
+                        .flatMap(second -> uncheckedSortedEntries(second).stream()
+                                .map(file -> listed(first.getFileName() + "/" + second.getFileName() + "/"
+                                        + file.getFileName(), file))));
+        return Stream.concat(legacy, sharded).filter(Objects::nonNull);
+    }
+    
+    @Override
+    public Path localPath(String key) {
+        return resolve(key);
+    }
+    
+    @Override
+    public StorageHealthResponse health() {
+        try {
+            FileStore fileStore = Files.getFileStore(root);
+            long usable = fileStore.getUsableSpace();
+            long minFree = fileStorageConfig.getLocal().getMinFreeBytes();
+            boolean writable = Files.isWritable(root) && Files.isWritable(tempDirectory);
+            String message = !writable ? "Upload directory is not writable"
+                    : usable < minFree ? "Free space below " + minFree + " bytes"
+                    : "OK";
+            return StorageHealthResponse.builder()
+                    .type(getType())
+                    .up(writable && usable >= minFree)
+                    .totalBytes(fileStore.getTotalSpace())
+                    .usableBytes(usable)
+                    .message(message)
+                    .build();
+        } catch (IOException ex) {
+            return StorageHealthResponse.builder()
+                    .type(getType())
+                    .up(false)
+                    .message(ex.getMessage())
+                    .build();
+        }
+    }
+    
+    private Path resolve(String key) {
+        Path path = Paths.get(key);
+        if (path.isAbsolute()) {
+            return path.normalize(); // stored flat before sharding
+        }
+        Path resolved = root.resolve(path).normalize();
+        if (!resolved.startsWith(root)) {
+            throw new IllegalArgumentException("Storage key escapes the upload directory: " + key);
+        }
+        return resolved;
+    }
+    
+    private static List<Path> sortedEntries(Path directory) throws IOException {
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries.sorted((left, right) -> KEY_ORDER.compare(
+                    left.getFileName().toString(), right.getFileName().toString())).toList();
+        }
+    }
+    
+    private static List<Path> uncheckedSortedEntries(Path directory) {
+        try {
+            return sortedEntries(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    private static boolean isShard(Path path) {
+        return SHARD_NAME.matcher(path.getFileName().toString()).matches() && Files.isDirectory(path);
+    }
+    
+    // Regular files only; null for directories and files removed since the directory was read
+    private static ListedObject listed(String key, Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return null;
+            }
+            return new ListedObject(key, attributes.size(), attributes.lastModifiedTime().toInstant());
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    private void ensureCapacity() throws IOException {
+        long usable = Files.getFileStore(root).getUsableSpace();
+        if (usable < fileStorageConfig.getLocal().getMinFreeBytes()) {
+            throw new IOException("Not enough free space in upload directory (" + usable + " bytes left)");
+        }
+    }
+    
+    private static void syncDirectory(Path directory) {
+        // Makes the rename durable; not supported on every platform
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            log.debug("Directory fsync not supported for {}", directory, ex);
+        }
+    }
+    
+    private static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
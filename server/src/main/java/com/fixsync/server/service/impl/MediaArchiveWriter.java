@@ -0,0 +1,172 @@
+package com.fixsync.server.service.impl;
+
+import com.fixsync.server.dto.response.MediaDownload;
+import com.fixsync.server.service.StorageBackend;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams media as a ZIP archive straight into the response.
+ * <p>
+ * Entries are copied from the {@link StorageBackend} one at a time, nothing is staged in memory or on disk.
+ * While one entry is copied the next few objects are already being opened (S3 GET round trips overlap
+ * with the copy); that read-ahead window is bounded, so heap use does not depend on the archive size.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaArchiveWriter {
+    
+    private static final String ERRORS_ENTRY = "_errors.txt";
+    
+    private final StorageBackend storageBackend;
+    
+    // Objects opened ahead of the one being copied, per export
+    @Value("${media.export.read-ahead:2}")
+    private int readAhead;
+    
+    @Value("${media.export.workers:4}")
+    private int workers;
+    
+    private ThreadPoolExecutor executor;
+    
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "media-export-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
+    /**
+     * Writes every download as an entry; objects that cannot be opened are listed in {@value #ERRORS_ENTRY}
+     * instead of failing the whole archive. The output stream is finished but not closed.
+     */
+    public void write(List<MediaDownload> downloads, OutputStream outputStream) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(outputStream, StandardCharsets.UTF_8);
+        Deque<CompletableFuture<InputStream>> opening = new ArrayDeque<>();
+        Set<String> entryNames = new HashSet<>();
+        List<String> errors = new ArrayList<>();
+        int nextToOpen = 0;
+        try {
+            for (MediaDownload download : downloads) {
+                while (nextToOpen < downloads.size() && opening.size() <= readAhead) {
+                    opening.addLast(open(downloads.get(nextToOpen++)));
+                }
+                
+                InputStream inputStream;
+                try {
+                    inputStream = opening.removeFirst().join();
+                } catch (CompletionException ex) {
+                    log.warn("Could not open media {} for export", download.getId(), ex.getCause());
+                    errors.add(download.getOriginalFilename() + ": " + ex.getCause().getMessage());
+                    continue;
+                }
+                
+                try (InputStream entryInput = inputStream) {
+                    ZipEntry entry = new ZipEntry(entryName(download, entryNames));
+                    entry.setTime(download.getLastModified());
+                    zip.setLevel(isCompressed(download.getContentType()) ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+                    zip.putNextEntry(entry);
+                    entryInput.transferTo(zip);
+                    zip.closeEntry();
+                }
+            }
+            
+            if (!errors.isEmpty()) {
+                zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+                zip.putNextEntry(new ZipEntry(ERRORS_ENTRY));
+                zip.write(String.join("\n", errors).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.finish();
+            zip.flush();
+        } finally {
+            // Client gone or storage read failed mid-entry: release whatever was opened ahead
+            opening.forEach(future -> future.thenAccept(MediaArchiveWriter::closeQuietly));
+        }
+    }
+    
+    private CompletableFuture<InputStream> open(MediaDownload download) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return storageBackend.open(download.getStorageKey());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, executor);
+    }
+    
+    // Original name without any path, made unique within the archive: photo.jpg, photo (1).jpg, ...
+    private static String entryName(MediaDownload download, Set<String> usedNames) {
+        String name = download.getOriginalFilename();
+        if (name != null) {
+            name = fileName(name).strip();
+        }
+        if (name == null || name.isEmpty() || name.equals(ERRORS_ENTRY)) {
+            name = fileName(download.getStorageKey());
+        }
+        
+        int dotIndex = name.lastIndexOf('.');
+        String baseName = dotIndex > 0 ? name.substring(0, dotIndex) : name;
+        String extension = dotIndex > 0 ? name.substring(dotIndex) : "";
+        String candidate = name;
+        for (int counter = 1; !usedNames.add(candidate); counter++) {
+            candidate = baseName + " (" + counter + ")" + extension;
+        }
+        return candidate;
+    }
+    
+    private static String fileName(String path) {
+        return path.substring(Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1);
+    }
+    
+    // Photos, videos and audio are compressed formats already, deflating them again only costs CPU
+    private static boolean isCompressed(String contentType) {
+        return contentType != null
+                && (contentType.startsWith("image/") || contentType.startsWith("video/") || contentType.startsWith("audio/"));
+    }
+    
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException ex) {
+            log.debug("Could not close media stream", ex);
+        }
+    }
+}
@@ -1,42 +1,76 @@
 package com.fixsync.server.service.impl;
 
 import com.fixsync.server.config.FileStorageConfig;
+import com.fixsync.server.dto.request.FinalizeUploadRequest;
+import com.fixsync.server.dto.request.PresignedUploadRequest;
+import com.fixsync.server.dto.response.BulkUploadItemResponse;
+import com.fixsync.server.dto.response.BulkUploadResponse;
+import com.fixsync.server.dto.response.CursorResponse;
+import com.fixsync.server.dto.response.MediaDedupStatsResponse;
+import com.fixsync.server.dto.response.MediaDownload;
 import com.fixsync.server.dto.response.MediaResponse;
 import com.fixsync.server.dto.response.PageResponse;
+import com.fixsync.server.dto.response.PresignedUploadResponse;
+import com.fixsync.server.dto.response.StorageHealthResponse;
+import com.fixsync.server.dto.response.StorageReconcileResponse;
 import com.fixsync.server.entity.Media;
 import com.fixsync.server.entity.User;
 import com.fixsync.server.entity.enums.EntityType;
 import com.fixsync.server.entity.enums.MediaType;
+import com.fixsync.server.entity.enums.MediaVariant;
 import com.fixsync.server.exception.BadRequestException;
 import com.fixsync.server.exception.ResourceNotFoundException;
 import com.fixsync.server.mapper.MediaMapper;
+import com.fixsync.server.repository.MediaBlobRepository;
 import com.fixsync.server.repository.MediaRepository;
 import com.fixsync.server.repository.UserRepository;
+import com.fixsync.server.repository.projection.MediaDedupStats;
 import com.fixsync.server.service.MediaService;
-import com.fixsync.server.service.S3Service;
+import com.fixsync.server.service.StorageBackend;
+import com.fixsync.server.util.KeysetCursor;
+import com.fixsync.server.util.SizeLimitedInputStream;
+import com.fixsync.server.util.UuidV7;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
+import java.io.OutputStream;
+import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import jakarta.annotation.PostConstruct;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -44,26 +78,40 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MediaServiceImpl implements MediaService {
     
+    private static final String DIRECT_UPLOAD_UNSUPPORTED = "Upload trực tiếp chỉ hỗ trợ khi lưu trữ bằng S3";
+    
     private final MediaRepository mediaRepository;
     private final UserRepository userRepository;
     private final MediaMapper mediaMapper;
     private final FileStorageConfig fileStorageConfig;
+    private final MediaThumbnailGenerator mediaThumbnailGenerator;
+    private final MediaUrlResolver mediaUrlResolver;
+    private final MediaBlobRepository mediaBlobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StorageBackend storageBackend;
+    private final MediaStorageReconciler mediaStorageReconciler;
+    private final MediaArchiveWriter mediaArchiveWriter;
     
-    @Autowired(required = false)
-    private S3Service s3Service;
-    
-    private Path fileStorageLocation;
+    private ThreadPoolExecutor bulkUploadExecutor;
     
     @PostConstruct
     public void init() {
-        if (!fileStorageConfig.isS3Storage()) {
-            this.fileStorageLocation = fileStorageConfig.getUploadPath();
-            try {
-                Files.createDirectories(this.fileStorageLocation);
-            } catch (Exception ex) {
-                throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
-            }
-        }
+        int workers = fileStorageConfig.getBatchUploadWorkers();
+        AtomicInteger threadCount = new AtomicInteger();
+        // When all workers are busy the request thread writes its own file, uploads slow down instead of queueing up
+        bulkUploadExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "media-upload-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        bulkUploadExecutor.shutdown();
     }
     
     @Override
@@ -75,16 +123,8 @@ public class MediaServiceImpl implements MediaService {
             throw new BadRequestException("File không được để trống");
         }
         
-        if (file.getSize() > fileStorageConfig.getMaxSize()) {
-            throw new BadRequestException("File quá lớn. Kích thước tối đa: " + 
-                    (fileStorageConfig.getMaxSize() / 1024 / 1024) + "MB");
-        }
-        
         String contentType = file.getContentType();
-        if (contentType == null || !fileStorageConfig.getAllowedTypes().contains(contentType)) {
-            throw new BadRequestException("Loại file không được phép. Chỉ chấp nhận: " + 
-                    String.join(", ", fileStorageConfig.getAllowedTypes()));
-        }
+        validateUpload(file.getSize(), contentType, mediaType);
         
         // Get user
         User uploadedBy = userRepository.findById(uploadedById)
@@ -92,55 +132,231 @@ public class MediaServiceImpl implements MediaService {
         
         // Generate unique filename
         String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
-        String fileExtension = "";
-        int lastDotIndex = originalFilename.lastIndexOf('.');
-        if (lastDotIndex > 0) {
-            fileExtension = originalFilename.substring(lastDotIndex);
+        String storedFilename = generateStoredFilename(originalFilename);
+        String filePath = storageBackend.newKey(entityType, entityId, storedFilename);
+        MessageDigest digest = newContentDigest(); // hashed while written
+        
+        try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
+            storageBackend.store(filePath, inputStream, contentType);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + originalFilename + ". Please try again!", ex);
         }
         
-        String storedFilename = UUID.randomUUID().toString() + fileExtension;
-        String filePath;
+        String contentHash = HexFormat.of().formatHex(digest.digest());
+        filePath = deduplicate(filePath, file.getSize(), contentHash);
+        
+        // Create media entity
+        Media media = buildMedia(originalFilename, storedFilename, filePath, file.getSize(), contentType,
+                mediaType, entityType, entityId, description, uploadedBy);
+        media.setContentHash(contentHash);
+        
+        media = mediaRepository.save(media);
+        mediaThumbnailGenerator.submit(media);
         
-        // Upload to S3 or local storage
-        if (fileStorageConfig.isS3Storage()) {
-            if (s3Service == null) {
-                throw new RuntimeException("S3Service is not configured. Please check your S3 configuration.");
+        return toResponseWithUrl(media);
+    }
+    
+    /**
+     * Intake photos in one request. Every part is validated before anything is written, then the parts are
+     * written to storage concurrently and all rows are inserted in one transaction. A part whose write fails
+     * is reported in its result, the others are kept.
+     */
+    @Override
+    public BulkUploadResponse uploadFiles(List<MultipartFile> files, MediaType mediaType, EntityType entityType,
+                                          UUID entityId, String description, UUID uploadedById) {
+        if (files == null || files.isEmpty()) {
+            throw new BadRequestException("Danh sách file không được để trống");
+        }
+        if (files.size() > fileStorageConfig.getMaxBatchFiles()) {
+            throw new BadRequestException("Chỉ được upload tối đa " + fileStorageConfig.getMaxBatchFiles() + " file mỗi lần");
+        }
+        for (MultipartFile file : files) {
+            if (file.isEmpty()) {
+                throw new BadRequestException("File không được để trống: " + file.getOriginalFilename());
             }
-            // Upload to S3
-            String s3Key = generateS3Key(entityType, entityId, storedFilename);
-            s3Service.uploadFile(s3Key, file, contentType);
-            filePath = s3Key; // Store S3 key as filePath
-        } else {
-            // Upload to local storage
-            Path targetLocation = this.fileStorageLocation.resolve(storedFilename);
             try {
-                Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-            } catch (IOException ex) {
-                throw new RuntimeException("Could not store file " + originalFilename + ". Please try again!", ex);
+                validateUpload(file.getSize(), file.getContentType(), mediaType);
+            } catch (BadRequestException ex) {
+                throw new BadRequestException(file.getOriginalFilename() + ": " + ex.getMessage());
             }
-            filePath = targetLocation.toString();
         }
         
-        // Create media entity
-        Media media = new Media();
-        media.setOriginalFilename(originalFilename);
-        media.setStoredFilename(storedFilename);
-        media.setFilePath(filePath);
-        media.setFileSize(file.getSize());
-        media.setContentType(contentType);
-        media.setMediaType(mediaType);
-        media.setEntityType(entityType);
-        media.setEntityId(entityId);
-        media.setUploadedBy(uploadedBy);
-        media.setDescription(description);
-        media.setIsActive(true);
+        User uploadedBy = userRepository.findById(uploadedById)
+                .orElseThrow(() -> new ResourceNotFoundException("Người dùng", "id", uploadedById));
         
-        media = mediaRepository.save(media);
+        List<CompletableFuture<StoredUpload>> writes = files.stream()
+                .map(file -> CompletableFuture.supplyAsync(() -> store(file, entityType, entityId), bulkUploadExecutor))
+                .toList();
         
-        MediaResponse response = mediaMapper.toResponse(media);
-        response.setUrl(getMediaUrl(media.getId()));
+        BulkUploadItemResponse[] results = new BulkUploadItemResponse[files.size()];
+        List<StoredUpload> stored = new ArrayList<>();
+        List<Integer> storedIndexes = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            try {
+                stored.add(writes.get(i).join());
+                storedIndexes.add(i);
+            } catch (CompletionException ex) {
+                log.warn("Could not store file {} of bulk upload", files.get(i).getOriginalFilename(), ex.getCause());
+                results[i] = BulkUploadItemResponse.builder()
+                        .index(i)
+                        .originalFilename(files.get(i).getOriginalFilename())
+                        .success(false)
+                        .error("Không thể lưu file, vui lòng thử lại")
+                        .build();
+            }
+        }
         
-        return response;
+        List<Media> saved = List.of();
+        if (!stored.isEmpty()) {
+            try {
+                saved = transactionTemplate.execute(status -> {
+                    List<Media> batch = new ArrayList<>(stored.size());
+                    for (StoredUpload upload : stored) {
+                        Media media = buildMedia(upload.originalFilename(), upload.storedFilename(),
+                                deduplicate(upload.filePath(), upload.fileSize(), upload.contentHash()),
+                                upload.fileSize(), upload.contentType(), mediaType, entityType, entityId,
+                                description, uploadedBy);
+                        media.setContentHash(upload.contentHash());
+                        batch.add(media);
+                    }
+                    List<Media> created = mediaRepository.saveAll(batch);
+                    created.forEach(mediaThumbnailGenerator::submit);
+                    return created;
+                });
+            } catch (RuntimeException ex) {
+                // Rows and blob references rolled back, the files we wrote are now unreferenced
+                stored.forEach(upload -> deleteStoredFile(upload.filePath()));
+                throw ex;
+            }
+        }
+        
+        for (int i = 0; i < saved.size(); i++) {
+            int index = storedIndexes.get(i);
+            results[index] = BulkUploadItemResponse.builder()
+                    .index(index)
+                    .originalFilename(saved.get(i).getOriginalFilename())
+                    .success(true)
+                    .media(toResponseWithUrl(saved.get(i)))
+                    .build();
+        }
+        
+        return BulkUploadResponse.builder()
+                .total(files.size())
+                .succeeded(saved.size())
+                .failed(files.size() - saved.size())
+                .results(List.of(results))
+                .build();
+    }
+    
+    /**
+     * Stores a raw request body without buffering it whole (S3 gets it as a multipart upload).
+     * The size limit is enforced while reading.
+     * Not transactional on purpose, no connection is held while the body is transferred.
+     */
+    @Override
+    public MediaResponse uploadStream(InputStream inputStream, long contentLength, String contentType,
+                                      String originalFilename, MediaType mediaType, EntityType entityType,
+                                      UUID entityId, String description, UUID uploadedById) {
+        validateUpload(Math.max(contentLength, 0), contentType, mediaType);
+        
+        User uploadedBy = userRepository.findById(uploadedById)
+                .orElseThrow(() -> new ResourceNotFoundException("Người dùng", "id", uploadedById));
+        
+        String cleanFilename = StringUtils.cleanPath(originalFilename);
+        String storedFilename = generateStoredFilename(cleanFilename);
+        MessageDigest digest = newContentDigest();
+        InputStream body = new DigestInputStream(
+                new SizeLimitedInputStream(inputStream, fileStorageConfig.getMaxSizeFor(mediaType)), digest);
+        String filePath = storageBackend.newKey(entityType, entityId, storedFilename);
+        long fileSize;
+        try {
+            fileSize = storageBackend.store(filePath, body, contentType);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + cleanFilename + ". Please try again!", ex);
+        }
+        
+        if (fileSize == 0) {
+            deleteStoredFile(filePath);
+            throw new BadRequestException("File không được để trống");
+        }
+        
+        // Only the bookkeeping is transactional, the transfer above ran without a connection
+        String contentHash = HexFormat.of().formatHex(digest.digest());
+        String storedPath = filePath;
+        long storedSize = fileSize;
+        Media media = transactionTemplate.execute(status -> {
+            Media created = buildMedia(cleanFilename, storedFilename, deduplicate(storedPath, storedSize, contentHash),
+                    storedSize, contentType, mediaType, entityType, entityId, description, uploadedBy);
+            created.setContentHash(contentHash);
+            created = mediaRepository.save(created);
+            mediaThumbnailGenerator.submit(created);
+            return created;
+        });
+        
+        return toResponseWithUrl(media);
+    }
+    
+    @Override
+    public PresignedUploadResponse createPresignedUpload(PresignedUploadRequest request) {
+        requireDirectUpload();
+        validateUpload(request.getFileSize(), request.getContentType(), request.getMediaType());
+        
+        String storedFilename = generateStoredFilename(StringUtils.cleanPath(request.getOriginalFilename()));
+        String key = storageBackend.newKey(request.getEntityType(), request.getEntityId(), storedFilename);
+        long expirationMinutes = fileStorageConfig.getPresignExpirationMinutes();
+        
+        URL uploadUrl = storageBackend.presignUpload(
+                        key, request.getContentType(), request.getFileSize(), expirationMinutes)
+                .orElseThrow(() -> new BadRequestException(DIRECT_UPLOAD_UNSUPPORTED));
+        
+        return PresignedUploadResponse.builder()
+                .key(key)
+                .uploadUrl(uploadUrl.toString())
+                .method("PUT")
+                .headers(Map.of(HttpHeaders.CONTENT_TYPE, request.getContentType()))
+                .expiresAt(LocalDateTime.now().plusMinutes(expirationMinutes))
+                .build();
+    }
+    
+    @Override
+    @Transactional
+    public MediaResponse finalizeUpload(FinalizeUploadRequest request, UUID uploadedById) {
+        requireDirectUpload();
+        
+        // The key must be one we handed out for this entity (e.g. entityType/entityId/<uuid>.<ext> on S3)
+        String key = request.getKey();
+        String storedFilename = key.substring(key.lastIndexOf('/') + 1);
+        if (!key.equals(storageBackend.newKey(request.getEntityType(), request.getEntityId(), storedFilename))
+                || !isGeneratedFilename(storedFilename)) {
+            throw new BadRequestException("Key không hợp lệ");
+        }
+        
+        if (mediaRepository.findByStoredFilename(storedFilename).isPresent()) {
+            throw new BadRequestException("File đã được hoàn tất upload");
+        }
+        
+        StorageBackend.StoredObject object = storageBackend.stat(key)
+                .orElseThrow(() -> new BadRequestException("File chưa được upload lên S3"));
+        
+        // Size and type come from the stored object, not from the client
+        try {
+            validateUpload(object.size(), object.contentType(), request.getMediaType());
+        } catch (BadRequestException ex) {
+            deleteStoredFile(key);
+            throw ex;
+        }
+        
+        User uploadedBy = userRepository.findById(uploadedById)
+                .orElseThrow(() -> new ResourceNotFoundException("Người dùng", "id", uploadedById));
+        
+        Media media = buildMedia(StringUtils.cleanPath(request.getOriginalFilename()), storedFilename, key,
+                object.size(), object.contentType(), request.getMediaType(),
+                request.getEntityType(), request.getEntityId(), request.getDescription(), uploadedBy);
+        
+        media = mediaRepository.save(media);
+        mediaThumbnailGenerator.submit(media);
+        
+        return toResponseWithUrl(media);
     }
     
     @Override
@@ -153,27 +369,104 @@ public class MediaServiceImpl implements MediaService {
             throw new BadRequestException("File đã bị xóa");
         }
         
-        if (fileStorageConfig.isS3Storage()) {
-            if (s3Service == null) {
-                throw new RuntimeException("S3Service is not configured. Please check your S3 configuration.");
-            }
-            // Download from S3
-            InputStream inputStream = s3Service.downloadFile(media.getFilePath());
-            return new InputStreamResource(inputStream);
-        } else {
-            // Download from local storage
-            try {
-                Path filePath = Paths.get(media.getFilePath()).normalize();
-                Resource resource = new UrlResource(filePath.toUri());
-                
-                if (resource.exists() && resource.isReadable()) {
-                    return resource;
-                } else {
-                    throw new ResourceNotFoundException("File", "path", media.getFilePath());
-                }
-            } catch (MalformedURLException ex) {
-                throw new ResourceNotFoundException("File", "id", mediaId);
-            }
+        try {
+            return new InputStreamResource(storageBackend.open(media.getFilePath()));
+        } catch (IOException ex) {
+            throw new ResourceNotFoundException("File", "path", media.getFilePath());
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<MediaDownload> getEntityDownloads(EntityType entityType, UUID entityId) {
+        List<Media> mediaList = mediaRepository.findByEntityTypeAndEntityIdAndIsActiveTrueOrderByCreatedAtAsc(entityType, entityId);
+        if (mediaList.isEmpty()) {
+            throw new ResourceNotFoundException("Media", "entityId", entityId);
+        }
+        return mediaList.stream()
+                .map(media -> MediaDownload.builder()
+                        .id(media.getId())
+                        .originalFilename(media.getOriginalFilename())
+                        .contentType(media.getContentType())
+                        .mediaType(media.getMediaType())
+                        .fileSize(media.getFileSize())
+                        .lastModified(media.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                        .storageKey(media.getFilePath())
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
+    // Not transactional: no connection is held while the archive is streamed
+    @Override
+    public void writeArchive(List<MediaDownload> downloads, OutputStream outputStream) throws IOException {
+        mediaArchiveWriter.write(downloads, outputStream);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public MediaDownload getDownload(UUID mediaId) {
+        Media media = mediaRepository.findById(mediaId)
+                .orElseThrow(() -> new ResourceNotFoundException("File", "id", mediaId));
+        
+        if (!media.getIsActive()) {
+            throw new BadRequestException("File đã bị xóa");
+        }
+        
+        Path localPath = storageBackend.localPath(media.getFilePath());
+        if (localPath != null && !Files.isReadable(localPath)) {
+            throw new ResourceNotFoundException("File", "path", media.getFilePath());
+        }
+        
+        // Stored content never changes after upload, so id + size is a strong validator
+        return MediaDownload.builder()
+                .id(media.getId())
+                .originalFilename(media.getOriginalFilename())
+                .contentType(media.getContentType())
+                .mediaType(media.getMediaType())
+                .fileSize(media.getFileSize())
+                .lastModified(media.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .etag("\"" + media.getId() + "-" + Long.toHexString(media.getFileSize()) + "\"")
+                .localPath(localPath)
+                .storageKey(media.getFilePath())
+                .build();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public MediaDownload getVariantDownload(UUID mediaId, String variantKey) {
+        Media media = mediaRepository.findById(mediaId)
+                .orElseThrow(() -> new ResourceNotFoundException("File", "id", mediaId));
+        
+        MediaVariant variant = MediaVariant.fromKey(variantKey);
+        if (!media.getIsActive() || variant == null || !media.hasVariant(variant)) {
+            throw new ResourceNotFoundException("File", "variant", variantKey);
+        }
+        
+        String variantPath = variant.resolvePath(media.getFilePath(), media.getStoredFilename());
+        long fileSize = storageBackend.stat(variantPath)
+                .orElseThrow(() -> new ResourceNotFoundException("File", "variant", variantKey))
+                .size();
+        
+        String baseName = media.getOriginalFilename().replaceFirst("\\.[^.]*$", "");
+        return MediaDownload.builder()
+                .id(media.getId())
+                .originalFilename(baseName + "_" + variant.getKey() + ".jpg")
+                .contentType("image/jpeg")
+                .mediaType(MediaType.IMAGE)
+                .fileSize(fileSize)
+                .lastModified(media.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .etag("\"" + media.getId() + "-" + variant.getKey() + "-" + Long.toHexString(fileSize) + "\"")
+                .localPath(storageBackend.localPath(variantPath))
+                .storageKey(variantPath)
+                .build();
+    }
+    
+    @Override
+    public InputStream openRange(MediaDownload download, long start, long end) {
+        try {
+            return storageBackend.open(download.getStorageKey(), start, end);
+        } catch (IOException ex) {
+            throw new ResourceNotFoundException("File", "id", download.getId());
         }
     }
     
@@ -183,10 +476,7 @@ public class MediaServiceImpl implements MediaService {
         Media media = mediaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("File", "id", id));
         
-        MediaResponse response = mediaMapper.toResponse(media);
-        response.setUrl(getMediaUrl(id));
-        
-        return response;
+        return toResponseWithUrl(media);
     }
     
     @Override
@@ -194,11 +484,7 @@ public class MediaServiceImpl implements MediaService {
     public List<MediaResponse> getMediaByEntity(EntityType entityType, UUID entityId) {
         List<Media> mediaList = mediaRepository.findByEntityTypeAndEntityId(entityType, entityId);
         return mediaList.stream()
-                .map(media -> {
-                    MediaResponse response = mediaMapper.toResponse(media);
-                    response.setUrl(getMediaUrl(media.getId()));
-                    return response;
-                })
+                .map(this::toResponseWithUrl)
                 .collect(Collectors.toList());
     }
     
@@ -208,11 +494,7 @@ public class MediaServiceImpl implements MediaService {
         Page<Media> mediaPage = mediaRepository.findByEntityTypeAndEntityId(entityType, entityId, pageable);
         
         List<MediaResponse> content = mediaPage.getContent().stream()
-                .map(media -> {
-                    MediaResponse response = mediaMapper.toResponse(media);
-                    response.setUrl(getMediaUrl(media.getId()));
-                    return response;
-                })
+                .map(this::toResponseWithUrl)
                 .collect(Collectors.toList());
         
         return PageResponse.<MediaResponse>builder()
@@ -226,16 +508,20 @@ public class MediaServiceImpl implements MediaService {
                 .build();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<MediaResponse> getMediaByEntity(EntityType entityType, UUID entityId, String after, int size) {
+        Window<Media> mediaWindow = mediaRepository.findByEntityTypeAndEntityId(
+                entityType, entityId, KeysetCursor.decode(after), KeysetCursor.limit(size), KeysetCursor.SORT);
+        return KeysetCursor.toResponse(mediaWindow, toResponsesWithUrl(mediaWindow.getContent()));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<MediaResponse> getMediaByEntityAndType(EntityType entityType, UUID entityId, MediaType mediaType) {
         List<Media> mediaList = mediaRepository.findByEntityTypeAndEntityIdAndMediaType(entityType, entityId, mediaType);
         return mediaList.stream()
-                .map(media -> {
-                    MediaResponse response = mediaMapper.toResponse(media);
-                    response.setUrl(getMediaUrl(media.getId()));
-                    return response;
-                })
+                .map(this::toResponseWithUrl)
                 .collect(Collectors.toList());
     }
     
@@ -245,11 +531,7 @@ public class MediaServiceImpl implements MediaService {
         Page<Media> mediaPage = mediaRepository.findByUploadedBy(uploadedById, pageable);
         
         List<MediaResponse> content = mediaPage.getContent().stream()
-                .map(media -> {
-                    MediaResponse response = mediaMapper.toResponse(media);
-                    response.setUrl(getMediaUrl(media.getId()));
-                    return response;
-                })
+                .map(this::toResponseWithUrl)
                 .collect(Collectors.toList());
         
         return PageResponse.<MediaResponse>builder()
@@ -263,17 +545,21 @@ public class MediaServiceImpl implements MediaService {
                 .build();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<MediaResponse> getMediaByUploader(UUID uploadedById, String after, int size) {
+        Window<Media> mediaWindow = mediaRepository.findByUploadedBy(
+                uploadedById, KeysetCursor.decode(after), KeysetCursor.limit(size), KeysetCursor.SORT);
+        return KeysetCursor.toResponse(mediaWindow, toResponsesWithUrl(mediaWindow.getContent()));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public PageResponse<MediaResponse> getAllMedia(Pageable pageable) {
         Page<Media> mediaPage = mediaRepository.findByIsActiveTrue(pageable);
         
         List<MediaResponse> content = mediaPage.getContent().stream()
-                .map(media -> {
-                    MediaResponse response = mediaMapper.toResponse(media);
-                    response.setUrl(getMediaUrl(media.getId()));
-                    return response;
-                })
+                .map(this::toResponseWithUrl)
                 .collect(Collectors.toList());
         
         return PageResponse.<MediaResponse>builder()
@@ -287,58 +573,218 @@ public class MediaServiceImpl implements MediaService {
                 .build();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<MediaResponse> getAllMedia(String after, int size) {
+        Window<Media> mediaWindow = mediaRepository.findByIsActiveTrue(
+                KeysetCursor.decode(after), KeysetCursor.limit(size), KeysetCursor.SORT);
+        return KeysetCursor.toResponse(mediaWindow, toResponsesWithUrl(mediaWindow.getContent()));
+    }
+    
     @Override
     @Transactional
     public void deleteMedia(UUID id) {
         Media media = mediaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("File", "id", id));
+        if (!media.getIsActive()) {
+            return; // Already deleted, its reference is already released
+        }
         
         // Soft delete - set isActive = false
         media.setIsActive(false);
         mediaRepository.save(media);
+        mediaUrlResolver.evict(media);
         
-        // Delete physical file
-        if (fileStorageConfig.isS3Storage()) {
-            if (s3Service != null) {
-                // Delete from S3
-                try {
-                    s3Service.deleteFile(media.getFilePath());
-                } catch (Exception ex) {
-                    log.warn("Could not delete file from S3: " + media.getFilePath(), ex);
-                }
-            }
+        // Delete physical file once no other media shares the content, and the derivatives
+        List<String> filePaths = new ArrayList<>();
+        if (media.getContentHash() == null) {
+            filePaths.add(media.getFilePath());
         } else {
-            // Delete from local storage
-            try {
-                Path filePath = Paths.get(media.getFilePath());
-                if (Files.exists(filePath)) {
-                    Files.delete(filePath);
-                }
-            } catch (IOException ex) {
-                log.warn("Could not delete file: " + media.getFilePath(), ex);
+            mediaBlobRepository.release(media.getContentHash());
+            if (mediaBlobRepository.deleteIfUnreferenced(media.getContentHash()) > 0) {
+                filePaths.add(media.getFilePath());
             }
         }
+        for (MediaVariant variant : MediaVariant.values()) {
+            if (media.hasVariant(variant)) {
+                filePaths.add(variant.resolvePath(media.getFilePath(), media.getStoredFilename()));
+            }
+        }
+        deleteStoredFilesAfterCommit(filePaths);
     }
     
     @Override
+    @Transactional(readOnly = true)
+    public MediaDedupStatsResponse getDedupStats() {
+        MediaDedupStats stats = mediaBlobRepository.getDedupStats();
+        long storedBytes = stats.getStoredBytes();
+        long logicalBytes = stats.getLogicalBytes();
+        
+        return MediaDedupStatsResponse.builder()
+                .blobCount(stats.getBlobCount())
+                .referenceCount(stats.getReferenceCount())
+                .storedBytes(storedBytes)
+                .logicalBytes(logicalBytes)
+                .savedBytes(logicalBytes - storedBytes)
+                .dedupRatio(storedBytes > 0 ? (double) logicalBytes / storedBytes : 1.0)
+                .build();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
     public String getMediaUrl(UUID mediaId) {
-        if (fileStorageConfig.isS3Storage() && s3Service != null) {
-            Media media = mediaRepository.findById(mediaId).orElse(null);
-            if (media != null) {
-                // Return S3 URL or presigned URL
-                return s3Service.getFileUrl(media.getFilePath());
+        return mediaRepository.findById(mediaId)
+                .map(mediaUrlResolver::resolve)
+                .orElse("/api/media/" + mediaId + "/download");
+    }
+    
+    @Override
+    public StorageHealthResponse getStorageHealth() {
+        return storageBackend.health();
+    }
+    
+    @Override
+    public StorageReconcileResponse reconcileStorage() {
+        return mediaStorageReconciler.reconcile();
+    }
+    
+    private MediaResponse toResponseWithUrl(Media media) {
+        MediaResponse response = mediaMapper.toResponse(media);
+        response.setUrl(mediaUrlResolver.resolve(media));
+        
+        Map<String, String> variants = new LinkedHashMap<>();
+        for (MediaVariant variant : MediaVariant.values()) {
+            if (media.hasVariant(variant)) {
+                variants.put(variant.getKey(), mediaUrlResolver.resolve(media, variant));
+            }
+        }
+        response.setVariants(variants);
+        return response;
+    }
+    
+    private List<MediaResponse> toResponsesWithUrl(List<Media> mediaList) {
+        return mediaList.stream()
+                .map(this::toResponseWithUrl)
+                .collect(Collectors.toList());
+    }
+    
+    private void validateUpload(long fileSize, String contentType, MediaType mediaType) {
+        long maxSize = fileStorageConfig.getMaxSizeFor(mediaType);
+        if (fileSize > maxSize) {
+            throw new BadRequestException("File quá lớn. Kích thước tối đa: " + (maxSize / 1024 / 1024) + "MB");
+        }
+        
+        if (contentType == null || !fileStorageConfig.getAllowedTypes().contains(contentType)) {
+            throw new BadRequestException("Loại file không được phép. Chỉ chấp nhận: " + 
+                    String.join(", ", fileStorageConfig.getAllowedTypes()));
+        }
+    }
+    
+    /**
+     * Registers a reference to the just-stored content. When identical content is already stored,
+     * the new copy is dropped and the existing path returned.
+     */
+    private String deduplicate(String filePath, long fileSize, String contentHash) {
+        String blobPath = mediaBlobRepository.acquire(UuidV7.generate(), contentHash, filePath, fileSize);
+        if (!blobPath.equals(filePath)) {
+            deleteStoredFile(filePath);
+            log.debug("Duplicate content {}, reusing {}", contentHash, blobPath);
+        }
+        return blobPath;
+    }
+    
+    // Runs on a bulk upload worker: storage write and hash only, the database is left to the caller
+    private StoredUpload store(MultipartFile file, EntityType entityType, UUID entityId) {
+        String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
+        String storedFilename = generateStoredFilename(originalFilename);
+        String filePath = storageBackend.newKey(entityType, entityId, storedFilename);
+        MessageDigest digest = newContentDigest();
+        try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
+            storageBackend.store(filePath, inputStream, file.getContentType());
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + originalFilename + ". Please try again!", ex);
+        }
+        return new StoredUpload(originalFilename, storedFilename, filePath, file.getSize(), file.getContentType(),
+                HexFormat.of().formatHex(digest.digest()));
+    }
+    
+    private record StoredUpload(String originalFilename, String storedFilename, String filePath, long fileSize,
+                                String contentType, String contentHash) {
+    }
+    
+    private static MessageDigest newContentDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+    
+    /**
+     * Deletes the files only once the transaction commits: a rollback leaves the row active,
+     * so its files must still exist. Files left behind by a failed delete are collected by the reconciler.
+     */
+    private void deleteStoredFilesAfterCommit(List<String> filePaths) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            filePaths.forEach(this::deleteStoredFile);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                filePaths.forEach(MediaServiceImpl.this::deleteStoredFile);
             }
+        });
+    }
+    
+    private void deleteStoredFile(String filePath) {
+        try {
+            storageBackend.delete(filePath);
+        } catch (Exception ex) {
+            log.warn("Could not delete file: " + filePath, ex);
+        }
+    }
+    
+    private void requireDirectUpload() {
+        if (!storageBackend.supportsDirectUpload()) {
+            throw new BadRequestException(DIRECT_UPLOAD_UNSUPPORTED);
+        }
+    }
+    
+    private String generateStoredFilename(String originalFilename) {
+        String fileExtension = "";
+        int lastDotIndex = originalFilename.lastIndexOf('.');
+        if (lastDotIndex > 0) {
+            fileExtension = originalFilename.substring(lastDotIndex);
         }
-        return "/api/media/" + mediaId + "/download";
+        return UUID.randomUUID().toString() + fileExtension;
     }
     
-    private String generateS3Key(EntityType entityType, UUID entityId, String filename) {
-        // Generate S3 key: entityType/entityId/filename
-        // Example: DEVICE/123e4567-e89b-12d3-a456-426614174000/abc123.jpg
-        if (entityType != null && entityId != null) {
-            return String.format("%s/%s/%s", entityType.name(), entityId, filename);
+    private boolean isGeneratedFilename(String storedFilename) {
+        int dotIndex = storedFilename.indexOf('.');
+        String name = dotIndex >= 0 ? storedFilename.substring(0, dotIndex) : storedFilename;
+        try {
+            return UUID.fromString(name).toString().equals(name);
+        } catch (IllegalArgumentException ex) {
+            return false;
         }
-        return String.format("other/%s", filename);
+    }
+    
+    private Media buildMedia(String originalFilename, String storedFilename, String filePath, long fileSize,
+                             String contentType, MediaType mediaType, EntityType entityType, UUID entityId,
+                             String description, User uploadedBy) {
+        Media media = new Media();
+        media.setOriginalFilename(originalFilename);
+        media.setStoredFilename(storedFilename);
+        media.setFilePath(filePath);
+        media.setFileSize(fileSize);
+        media.setContentType(contentType);
+        media.setMediaType(mediaType);
+        media.setEntityType(entityType);
+        media.setEntityId(entityId);
+        media.setUploadedBy(uploadedBy);
+        media.setDescription(description);
+        media.setIsActive(true);
+        return media;
     }
 }
-
@@ -0,0 +1,242 @@
+package com.fixsync.server.service.impl;
+
+import com.fixsync.server.dto.response.StorageReconcileResponse;
+import com.fixsync.server.service.StorageBackend;
+import com.fixsync.server.service.StorageBackend.ListedObject;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Garbage collector for media storage.
+ * <p>
+ * First hard-deletes media rows soft-deleted longer than the retention period, then walks the storage listing
+ * and every key the database still references (media files, their variants, blobs) side by side, both sorted
+ * in {@link StorageBackend#KEY_ORDER}, and deletes objects nothing references: files whose delete failed,
+ * uploads that died before their row was written, presigned uploads never finalized. Both sides are streamed
+ * (storage listing pages, a database cursor), so memory stays constant regardless of the number of objects.
+ * <p>
+ * Orphans younger than the minimum age are left alone, they may belong to an upload still in flight.
+ */
+@Slf4j
+@Component
+public class MediaStorageReconciler {
+    
+    // Must match MediaVariant.resolvePath: <directory of file_path><stored name without extension>_<key>.jpg
+    private static final String REFERENCED_KEYS_SQL = """
+            SELECT storage_key FROM (
+                SELECT file_path AS storage_key FROM media
+                UNION
+                SELECT file_path FROM media_blobs
+                UNION
+                SELECT regexp_replace(m.file_path, '[^/\\\\]*$', '')
+                       || regexp_replace(m.stored_filename, '\\.[^.]*$', '') || '_' || v.variant || '.jpg'
+                FROM media m
+                CROSS JOIN LATERAL unnest(string_to_array(m.variants, ',')) AS v(variant)
+            ) referenced
+            ORDER BY storage_key COLLATE "C"
+            """;
+    
+    private static final String PURGE_DELETED_MEDIA_SQL = """
+            DELETE FROM media
+            WHERE id IN (SELECT id FROM media WHERE is_active = false AND updated_at < ? LIMIT ?)
+            """;
+    
+    private static final String COUNT_DELETED_MEDIA_SQL =
+            "SELECT COUNT(*) FROM media WHERE is_active = false AND updated_at < ?";
+    
+    // Keeps instances sharing the database from scanning at the same time
+    private static final long ADVISORY_LOCK_KEY = 0x6d65646961L;
+    
+    private final StorageBackend storageBackend;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate scanTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    @Value("${media.gc.enabled:true}")
+    private boolean enabled;
+    
+    // Only report what would be deleted
+    @Value("${media.gc.dry-run:false}")
+    private boolean dryRun;
+    
+    @Value("${media.gc.orphan-min-age-hours:24}")
+    private long orphanMinAgeHours;
+    
+    // 0 = keep soft-deleted rows
+    @Value("${media.gc.deleted-retention-days:30}")
+    private long deletedRetentionDays;
+    
+    @Value("${media.gc.fetch-size:1000}")
+    private int fetchSize;
+    
+    @Value("${media.gc.purge-batch-size:500}")
+    private int purgeBatchSize;
+    
+    public MediaStorageReconciler(StorageBackend storageBackend, JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager) {
+        this.storageBackend = storageBackend;
+        this.jdbcTemplate = jdbcTemplate;
+        // The cursor needs a transaction (PostgreSQL only streams with autocommit off)
+        this.scanTransaction = new TransactionTemplate(transactionManager);
+        this.scanTransaction.setReadOnly(true);
+    }
+    
+    @Scheduled(cron = "${media.gc.cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+    
+    public StorageReconcileResponse reconcile() {
+        StorageReconcileResponse report = StorageReconcileResponse.builder()
+                .startedAt(LocalDateTime.now())
+                .dryRun(dryRun)
+                .build();
+        if (!running.compareAndSet(false, true)) {
+            report.setMessage("Reconciliation already running");
+            return report;
+        }
+        
+        long start = System.nanoTime();
+        try {
+            report.setPurgedMediaRows(purgeDeletedMedia());
+            Boolean scanned = scanTransaction.execute(status -> scan(report));
+            report.setCompleted(Boolean.TRUE.equals(scanned));
+            report.setMessage(report.isCompleted() ? "OK" : "Another instance is reconciling storage");
+        } catch (RuntimeException e) {
+            log.error("Media storage reconciliation failed", e);
+            report.setMessage(e.getMessage());
+        } finally {
+            report.setDurationMs(Duration.ofNanos(System.nanoTime() - start).toMillis());
+            running.set(false);
+        }
+        
+        log.info("Media storage reconciliation{}: {} rows purged, {} objects scanned, {} orphans, {} deleted, "
+                        + "{} bytes reclaimed, {} recent orphans kept, {} referenced objects missing ({})",
+                dryRun ? " (dry run)" : "", report.getPurgedMediaRows(), report.getScannedObjects(),
+                report.getOrphanObjects(), report.getDeletedObjects(), report.getReclaimedBytes(),
+                report.getSkippedRecentObjects(), report.getMissingObjects(), report.getMessage());
+        return report;
+    }
+    
+    // In batches, so no single statement locks a large part of the table
+    private long purgeDeletedMedia() {
+        if (deletedRetentionDays <= 0) {
+            return 0;
+        }
+        // deleted_at is written in UTC (hibernate.jdbc.time_zone), raw JDBC binds the timestamp as is
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC).minusDays(deletedRetentionDays));
+        if (dryRun) {
+            Long count = jdbcTemplate.queryForObject(COUNT_DELETED_MEDIA_SQL, Long.class, cutoff);
+            return count != null ? count : 0;
+        }
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_DELETED_MEDIA_SQL, cutoff, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+        return purged;
+    }
+    
+    private boolean scan(StorageReconcileResponse report) {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            return false;
+        }
+        
+        Instant orphanCutoff = Instant.now().minus(Duration.ofHours(orphanMinAgeHours));
+        try (Stream<ListedObject> objects = storageBackend.list();
+             Stream<String> referencedKeys = jdbcTemplate.queryForStream(connection -> {
+                 PreparedStatement statement = connection.prepareStatement(REFERENCED_KEYS_SQL);
+                 statement.setFetchSize(fetchSize);
+                 return statement;
+             }, (rs, rowNum) -> rs.getString(1))) {
+            merge(objects.iterator(), referencedKeys.iterator(), orphanCutoff, report);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list storage", e);
+        }
+        return true;
+    }
+    
+    private void merge(Iterator<ListedObject> objects, Iterator<String> referencedKeys,
+                       Instant orphanCutoff, StorageReconcileResponse report) {
+        String referenced = nextKey(referencedKeys, null);
+        String previousObjectKey = null;
+        while (objects.hasNext()) {
+            ListedObject object = objects.next();
+            requireAscending(previousObjectKey, object.key());
+            previousObjectKey = object.key();
+            report.setScannedObjects(report.getScannedObjects() + 1);
+            
+            while (referenced != null && StorageBackend.KEY_ORDER.compare(referenced, object.key()) < 0) {
+                report.setMissingObjects(report.getMissingObjects() + 1);
+                referenced = nextKey(referencedKeys, referenced);
+            }
+            if (object.key().equals(referenced)) {
+                referenced = nextKey(referencedKeys, referenced);
+            } else {
+                handleOrphan(object, orphanCutoff, report);
+            }
+        }
+        while (referenced != null) {
+            report.setMissingObjects(report.getMissingObjects() + 1);
+            referenced = nextKey(referencedKeys, referenced);
+        }
+    }
+    
+    private void handleOrphan(ListedObject object, Instant orphanCutoff, StorageReconcileResponse report) {
+        report.setOrphanObjects(report.getOrphanObjects() + 1);
+        if (object.lastModified().isAfter(orphanCutoff)) {
+            report.setSkippedRecentObjects(report.getSkippedRecentObjects() + 1);
+            return;
+        }
+        if (dryRun) {
+            log.info("Orphan media object {} ({} bytes) would be deleted", object.key(), object.size());
+            report.setReclaimedBytes(report.getReclaimedBytes() + object.size());
+            return;
+        }
+        try {
+            storageBackend.delete(object.key());
+            report.setDeletedObjects(report.getDeletedObjects() + 1);
+            report.setReclaimedBytes(report.getReclaimedBytes() + object.size());
+            log.debug("Deleted orphan media object {} ({} bytes)", object.key(), object.size());
+        } catch (Exception e) {
+            log.warn("Could not delete orphan media object {}", object.key(), e);
+        }
+    }
+    
+    private static String nextKey(Iterator<String> keys, String previous) {
+        if (!keys.hasNext()) {
+            return null;
+        }
+        String key = keys.next();
+        requireAscending(previous, key);
+        return key;
+    }
+    
+    // A merge over unsorted input would delete live objects, stop instead
+    private static void requireAscending(String previous, String key) {
+        if (previous != null && StorageBackend.KEY_ORDER.compare(previous, key) >= 0) {
+            throw new IllegalStateException("Keys out of order (" + previous + " before " + key + "), reconciliation stopped");
+        }
+    }
+}
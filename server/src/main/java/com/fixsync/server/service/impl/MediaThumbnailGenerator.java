@@ -0,0 +1,309 @@
+package com.fixsync.server.service.impl;
+
+import com.fixsync.server.entity.Media;
+import com.fixsync.server.entity.enums.MediaType;
+import com.fixsync.server.entity.enums.MediaVariant;
+import com.fixsync.server.repository.MediaRepository;
+import com.fixsync.server.service.StorageBackend;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the {@link MediaVariant} derivatives of IMAGE media in the background.
+ * <p>
+ * Pure Java (ImageIO + Java2D, headless): the original is decoded once with source subsampling
+ * close to the largest variant, then each variant is downscaled in halving steps and stored as JPEG
+ * next to the original through the {@link StorageBackend}. A bounded pool and queue keep CPU and heap
+ * in check; when the queue is full the image keeps NULL variants (pending) and a periodic sweep
+ * submits it again once the queue has room. Originals that cannot be thumbnailed (undecodable, corrupt,
+ * missing) are marked with empty variants at once; other failures are retried by the sweep up to
+ * {@code media.thumbnails.max-attempts} times, so failing images never pin the sweep window.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaThumbnailGenerator {
+    
+    private static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+    private static final String NO_VARIANTS = "";
+    // Newer rows may still be queued from their upload
+    private static final Duration SWEEP_MIN_AGE = Duration.ofMinutes(10);
+    
+    private final MediaRepository mediaRepository;
+    private final StorageBackend storageBackend;
+    
+    @Value("${media.thumbnails.workers:2}")
+    private int workers;
+    
+    @Value("${media.thumbnails.queue-capacity:200}")
+    private int queueCapacity;
+    
+    @Value("${media.thumbnails.max-pixels:50000000}")
+    private long maxPixels;
+    
+    @Value("${media.thumbnails.jpeg-quality:0.8}")
+    private float jpegQuality;
+    
+    @Value("${media.thumbnails.max-attempts:3}")
+    private int maxAttempts;
+    
+    private ThreadPoolExecutor executor;
+    
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "media-thumbnail-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> log.warn("Thumbnail queue full, variants left pending for the next sweep"));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
+    /**
+     * Schedules generation once the media row is committed; non-decodable formats are ignored
+     */
+    public void submit(Media media) {
+        Runnable task = task(media);
+        if (task == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            executor.execute(task);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.execute(task);
+            }
+        });
+    }
+    
+    /**
+     * Resubmits pending images (oldest first) while the queue has room, so images skipped under load
+     * still get their variants
+     */
+    @Scheduled(fixedDelayString = "${media.thumbnails.sweep-interval-ms:600000}",
+               initialDelayString = "${media.thumbnails.sweep-interval-ms:600000}")
+    public void sweepPending() {
+        int room = executor.getQueue().remainingCapacity();
+        if (room == 0) {
+            return;
+        }
+        List<Media> pending = mediaRepository.findPendingVariants(
+                MediaType.IMAGE, LocalDateTime.now().minus(SWEEP_MIN_AGE), Limit.of(room));
+        int submitted = 0;
+        for (Media media : pending) {
+            Runnable task = task(media);
+            if (task == null) {
+                mediaRepository.updateVariants(media.getId(), NO_VARIANTS);
+                continue;
+            }
+            if (executor.getQueue().remainingCapacity() == 0) {
+                break;
+            }
+            executor.execute(task);
+            submitted++;
+        }
+        if (submitted > 0) {
+            log.info("Resubmitted {} images with pending variants", submitted);
+        }
+    }
+    
+    /**
+     * Worker task for the media, null when it is not an image ImageIO can decode
+     */
+    private Runnable task(Media media) {
+        if (media.getMediaType() != MediaType.IMAGE
+                || !ImageIO.getImageReadersByMIMEType(media.getContentType()).hasNext()) {
+            return null;
+        }
+        // Hand plain values to the worker, never the managed entity
+        UUID mediaId = media.getId();
+        String filePath = media.getFilePath();
+        String storedFilename = media.getStoredFilename();
+        return () -> generate(mediaId, filePath, storedFilename);
+    }
+    
+    private void generate(UUID mediaId, String filePath, String storedFilename) {
+        List<String> writtenPaths = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        try {
+            int largest = 0;
+            for (MediaVariant variant : MediaVariant.values()) {
+                largest = Math.max(largest, variant.getMaxDimension());
+            }
+            
+            BufferedImage source;
+            try (InputStream inputStream = storageBackend.open(filePath)) {
+                source = decode(inputStream, largest);
+            }
+            if (source == null) {
+                log.warn("Could not decode image for thumbnails: {}", filePath);
+                mediaRepository.updateVariants(mediaId, NO_VARIANTS);
+                return;
+            }
+            
+            for (MediaVariant variant : MediaVariant.values()) {
+                String variantPath = variant.resolvePath(filePath, storedFilename);
+                byte[] data = encodeJpeg(scale(source, variant.getMaxDimension()));
+                storageBackend.store(variantPath, new ByteArrayInputStream(data), VARIANT_CONTENT_TYPE);
+                writtenPaths.add(variantPath);
+                keys.add(variant.getKey());
+            }
+            
+            if (mediaRepository.updateVariants(mediaId, String.join(",", keys)) == 0) {
+                // Deleted while we were working
+                writtenPaths.forEach(this::deleteQuietly);
+                return;
+            }
+            log.debug("Generated {} variants for media {}", keys.size(), mediaId);
+        } catch (Exception e) {
+            writtenPaths.forEach(this::deleteQuietly);
+            recordFailure(mediaId, filePath, e);
+        }
+    }
+    
+    /**
+     * Gives the image up when retrying cannot help (corrupt or truncated data, original gone),
+     * otherwise counts the attempt so the sweep retries it a bounded number of times
+     */
+    private void recordFailure(UUID mediaId, String filePath, Exception e) {
+        try {
+            if (e instanceof IIOException || storageBackend.stat(filePath).isEmpty()) {
+                log.warn("Thumbnail generation failed for media {}, not retrying", mediaId, e);
+                mediaRepository.updateVariants(mediaId, NO_VARIANTS);
+            } else {
+                log.warn("Thumbnail generation failed for media {}, will retry", mediaId, e);
+                mediaRepository.recordVariantFailure(mediaId, maxAttempts);
+            }
+        } catch (RuntimeException recordError) {
+            log.warn("Could not record thumbnail failure for media {}", mediaId, recordError);
+        }
+    }
+    
+    private BufferedImage decode(InputStream inputStream, int targetDimension) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(inputStream)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    log.warn("Image too large for thumbnails ({}x{})", width, height);
+                    return null;
+                }
+                // Decode at no less than twice the target so the final downscale stays smooth
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(width, height) / (targetDimension * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+    
+    private static BufferedImage scale(BufferedImage source, int maxDimension) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            // At most halve per step, a single bilinear step over a large ratio aliases badly
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                // JPEG has no alpha, flatten transparency onto white
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+    
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(outputStream)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+    
+    private void deleteQuietly(String variantPath) {
+        try {
+            storageBackend.delete(variantPath);
+        } catch (Exception e) {
+            log.warn("Could not delete variant: {}", variantPath, e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.fixsync.server.service.impl;
+
+import com.fixsync.server.entity.Media;
+import com.fixsync.server.entity.enums.MediaVariant;
+import com.fixsync.server.service.StorageBackend;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds client URLs from already-loaded {@link Media} entities, never touching the database:
+ * the storage backend's direct URL when it has one (S3 object or cached presigned URL),
+ * otherwise the download/variant endpoints.
+ */
+@Component
+@RequiredArgsConstructor
+public class MediaUrlResolver {
+    
+    private final StorageBackend storageBackend;
+    
+    public String resolve(Media media) {
+        return storageBackend.directUrl(media.getFilePath())
+                .orElseGet(() -> "/api/media/" + media.getId() + "/download");
+    }
+    
+    public String resolve(Media media, MediaVariant variant) {
+        return storageBackend.directUrl(variant.resolvePath(media.getFilePath(), media.getStoredFilename()))
+                .orElseGet(() -> "/api/media/" + media.getId() + "/variants/" + variant.getKey());
+    }
+    
+    /**
+     * Drops cached URLs of a deleted media so they are not handed out again
+     */
+    public void evict(Media media) {
+        storageBackend.evictUrl(media.getFilePath());
+        for (MediaVariant variant : MediaVariant.values()) {
+            storageBackend.evictUrl(variant.resolvePath(media.getFilePath(), media.getStoredFilename()));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.fixsync.server.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of realtime_logs (see V9 and V18 migrations):
+ * moves rows that landed in the default partition into their monthly partitions,
+ * creates upcoming partitions ahead of time and drops or detaches partitions past the retention period.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RealtimeLogPartitionJob {
+    
+    private static final Pattern PARTITION_NAME = Pattern.compile("realtime_logs_(\\d{4})_(\\d{2})");
+    
+    private static final String FIND_PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'realtime_logs'::regclass
+            """;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${realtime.logs.partitions-ahead:3}")
+    private int partitionsAhead;
+    
+    // 0 = keep all partitions
+    @Value("${realtime.logs.retention-months:12}")
+    private int retentionMonths;
+    
+    // drop | detach (detached partitions stay as plain tables for archiving)
+    @Value("${realtime.logs.retention-action:detach}")
+    private String retentionAction;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+    
+    @Scheduled(cron = "${realtime.logs.partition-cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        try {
+            drainDefaultPartition();
+            createUpcomingPartitions();
+            applyRetention();
+        } catch (RuntimeException e) {
+            log.error("Realtime log partition maintenance failed", e);
+        }
+    }
+    
+    private void drainDefaultPartition() {
+        Long moved = jdbcTemplate.queryForObject("SELECT drain_realtime_logs_default()", Long.class);
+        if (moved != null && moved > 0) {
+            log.warn("Moved {} realtime logs from the default partition into monthly partitions", moved);
+        }
+    }
+    
+    private void createUpcomingPartitions() {
+        // created_at is stored in UTC (hibernate.jdbc.time_zone), so months are UTC months
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= partitionsAhead; i++) {
+            LocalDate monthStart = current.plusMonths(i).atDay(1);
+            jdbcTemplate.queryForObject("SELECT create_realtime_logs_partition(?)", String.class, Date.valueOf(monthStart));
+        }
+    }
+    
+    private void applyRetention() {
+        if (retentionMonths <= 0) {
+            return;
+        }
+        YearMonth oldestKept = YearMonth.now(ZoneOffset.UTC).minusMonths(retentionMonths - 1L);
+        boolean drop = "drop".equalsIgnoreCase(retentionAction);
+        
+        List<String> partitions = jdbcTemplate.queryForList(FIND_PARTITIONS_SQL, String.class);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+            // Name is validated by the pattern above, safe to inline
+            if (drop) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("Dropped expired realtime log partition {}", partition);
+            } else {
+                jdbcTemplate.execute("ALTER TABLE realtime_logs DETACH PARTITION " + partition);
+                log.info("Detached expired realtime log partition {} for archiving", partition);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.fixsync.server.service.impl;
 
+import com.fixsync.server.dto.response.CursorResponse;
 import com.fixsync.server.dto.response.PageResponse;
 import com.fixsync.server.dto.response.RealtimeLogResponse;
 import com.fixsync.server.entity.Device;
@@ -12,11 +13,18 @@ import com.fixsync.server.repository.DeviceRepository;
 import com.fixsync.server.repository.RealtimeLogRepository;
 import com.fixsync.server.repository.UserRepository;
 import com.fixsync.server.service.RealtimeLogService;
+import com.fixsync.server.service.RealtimeLogStreamService;
+import com.fixsync.server.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.UUID;
@@ -30,6 +38,11 @@ public class RealtimeLogServiceImpl implements RealtimeLogService {
     private final DeviceRepository deviceRepository;
     private final UserRepository userRepository;
     private final RealtimeLogMapper realtimeLogMapper;
+    private final RealtimeLogStreamService realtimeLogStreamService;
+    private final RealtimeLogWriter realtimeLogWriter;
+    
+    @Value("${realtime.logs.max-unpaginated:500}")
+    private int maxUnpaginated;
     
     @Override
     @Transactional
@@ -48,13 +61,35 @@ public class RealtimeLogServiceImpl implements RealtimeLogService {
         
         log = realtimeLogRepository.save(log);
         
-        return realtimeLogMapper.toResponse(log);
+        RealtimeLogResponse response = realtimeLogMapper.toResponse(log);
+        publishAfterCommit(response);
+        return response;
+    }
+    
+    /**
+     * Fire-and-forget variant of createLog: only ids are kept and the row is written
+     * by RealtimeLogWriter after the caller's transaction commits.
+     */
+    @Override
+    public void recordLog(UUID deviceId, ActionType action, String detail, UUID createdById) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            realtimeLogWriter.enqueue(deviceId, action, detail, createdById);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                realtimeLogWriter.enqueue(deviceId, action, detail, createdById);
+            }
+        });
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<RealtimeLogResponse> getLogsByDeviceId(UUID deviceId) {
-        List<RealtimeLog> logs = realtimeLogRepository.findByDeviceIdOrderByCreatedAtDesc(deviceId);
+        // Non-paginated mode returns only the most recent logs
+        List<RealtimeLog> logs = realtimeLogRepository.findByDeviceIdOrderByCreatedAtDesc(
+                deviceId, PageRequest.of(0, maxUnpaginated));
         return logs.stream()
                 .map(realtimeLogMapper::toResponse)
                 .collect(Collectors.toList());
@@ -76,6 +111,14 @@ public class RealtimeLogServiceImpl implements RealtimeLogService {
                 .build();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<RealtimeLogResponse> getLogsByDeviceId(UUID deviceId, String after, int size) {
+        Window<RealtimeLog> logs = realtimeLogRepository.findByDeviceId(
+                deviceId, KeysetCursor.decode(after), KeysetCursor.limit(size), KeysetCursor.SORT);
+        return KeysetCursor.toResponse(logs, realtimeLogMapper.toResponseList(logs.getContent()));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public PageResponse<RealtimeLogResponse> getLogsByDeviceIdAndAction(UUID deviceId, ActionType action, Pageable pageable) {
@@ -91,8 +134,18 @@ public class RealtimeLogServiceImpl implements RealtimeLogService {
                 .last(logs.isLast())
                 .build();
     }
+    
+    private void publishAfterCommit(RealtimeLogResponse response) {
+        // Subscribers must never see a log that is rolled back
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            realtimeLogStreamService.publish(response);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                realtimeLogStreamService.publish(response);
+            }
+        });
+    }
 }
-
-
-
-
@@ -0,0 +1,328 @@
+package com.fixsync.server.service.impl;
+
+import com.fixsync.server.dto.response.RealtimeLogResponse;
+import com.fixsync.server.mapper.RealtimeLogMapper;
+import com.fixsync.server.repository.RealtimeLogRepository;
+import com.fixsync.server.service.RealtimeLogStreamService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory SSE fan-out of realtime logs.
+ * <p>
+ * Idle subscribers only hold an SseEmitter (servlet async, no thread per connection).
+ * All state changes (replay buffer, subscriber list) run on one dispatcher thread,
+ * so replay on subscribe and live events never overlap or arrive out of order.
+ * Event ids are the persisted realtime_logs ids (time-ordered UUIDv7), so Last-Event-ID stays meaningful
+ * across restarts and instances: an id older than the in-memory buffer is resumed from the table.
+ * The dispatcher never writes to a socket: it appends events to each subscriber's bounded outbox,
+ * which a small sender pool drains (at most one drain per subscriber at a time). A client whose
+ * outbox fills up is disconnected and resumes from the replay buffer with Last-Event-ID, so one
+ * slow connection cannot stall delivery to the others.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RealtimeLogStreamServiceImpl implements RealtimeLogStreamService {
+    
+    private static final String EVENT_NAME = "log";
+    private static final StreamEvent PING = new StreamEvent(null);
+    // Logs are written shortly after their id is generated; bounds the resume query to recent partitions
+    private static final long REPLAY_CLOCK_SLACK_MS = 60_000;
+    
+    private final RealtimeLogRepository realtimeLogRepository;
+    private final RealtimeLogMapper realtimeLogMapper;
+    
+    @Value("${realtime.stream.timeout-ms:1800000}") // 30 minutes, client reconnects with Last-Event-ID
+    private long timeoutMs;
+    
+    @Value("${realtime.stream.replay-buffer-size:1000}")
+    private int replayBufferSize;
+    
+    @Value("${realtime.stream.subscriber-queue-size:256}")
+    private int subscriberQueueSize;
+    
+    @Value("${realtime.stream.sender-threads:4}")
+    private int senderThreads;
+    
+    private final ThreadPoolExecutor dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(10000), runnable -> {
+                Thread thread = new Thread(runnable, "realtime-log-stream");
+                thread.setDaemon(true);
+                return thread;
+            });
+    
+    // Queue holds at most one drain task per subscriber
+    private ThreadPoolExecutor sender;
+    
+    // Accessed only from the dispatcher thread
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private final Deque<StreamEvent> replayBuffer = new ArrayDeque<>();
+    
+    // Oldest buffered id, read by request threads to decide whether resuming needs the table
+    private volatile UUID oldestBufferedId;
+    
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "realtime-log-sender-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+    
+    @Override
+    public SseEmitter subscribe(UUID deviceId, String lastEventId) {
+        UUID lastId = parseEventId(lastEventId);
+        // Older than everything buffered (restart, other instance, long disconnect): read the gap from the table
+        List<RealtimeLogResponse> stored = lastId != null && isBeforeBuffer(lastId)
+                ? loadAfter(deviceId, lastId)
+                : List.of();
+        
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(deviceId, emitter, subscriberQueueSize);
+        
+        emitter.onCompletion(() -> dispatch(() -> subscribers.remove(subscriber)));
+        emitter.onTimeout(() -> dispatch(() -> subscribers.remove(subscriber)));
+        emitter.onError(ex -> dispatch(() -> subscribers.remove(subscriber)));
+        
+        dispatch(() -> {
+            // Resume: stored events first, then buffered events the client has not seen yet
+            for (RealtimeLogResponse log : stored) {
+                StreamEvent event = new StreamEvent(log);
+                subscriber.replayed.add(event.id);
+                if (!enqueue(subscriber, event)) {
+                    return;
+                }
+            }
+            if (lastId != null) {
+                // Buffer order is publish order: when the id is buffered, everything after it is new
+                boolean lastBuffered = replayBuffer.stream().anyMatch(event -> event.id.equals(lastId));
+                boolean afterLast = false;
+                for (StreamEvent event : replayBuffer) {
+                    boolean unseen = lastBuffered ? afterLast : compareIds(event.id, lastId) > 0;
+                    afterLast |= event.id.equals(lastId);
+                    if (unseen && subscriber.accepts(event) && subscriber.replayed.add(event.id)
+                            && !enqueue(subscriber, event)) {
+                        return;
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        });
+        return emitter;
+    }
+    
+    @Override
+    public void publish(RealtimeLogResponse log) {
+        dispatch(() -> {
+            StreamEvent event = new StreamEvent(log);
+            replayBuffer.addLast(event);
+            while (replayBuffer.size() > replayBufferSize) {
+                replayBuffer.removeFirst();
+            }
+            oldestBufferedId = replayBuffer.peekFirst().id;
+            // Skip events a resuming subscriber already got from the table
+            subscribers.removeIf(subscriber -> subscriber.accepts(event) && !subscriber.replayed.contains(event.id)
+                    && !enqueue(subscriber, event));
+        });
+    }
+    
+    /**
+     * Keep-alive comment so proxies do not close idle streams and dead clients are detected
+     */
+    @Scheduled(fixedRateString = "${realtime.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        dispatch(() -> subscribers.removeIf(subscriber -> !enqueue(subscriber, PING)));
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        dispatch(() -> {
+            subscribers.forEach(this::close);
+            subscribers.clear();
+        });
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+        sender.shutdown();
+    }
+    
+    private boolean isBeforeBuffer(UUID lastId) {
+        UUID oldest = oldestBufferedId;
+        return oldest == null || compareIds(lastId, oldest) < 0;
+    }
+    
+    /**
+     * Logs written after lastId (at most the replay buffer size), read on the request thread
+     */
+    private List<RealtimeLogResponse> loadAfter(UUID deviceId, UUID lastId) {
+        long millis = lastId.getMostSignificantBits() >>> 16;
+        LocalDateTime since = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(millis - REPLAY_CLOCK_SLACK_MS), ZoneId.systemDefault());
+        try {
+            return realtimeLogMapper.toResponseList(deviceId == null
+                    ? realtimeLogRepository.findStreamReplay(lastId, since, Limit.of(replayBufferSize))
+                    : realtimeLogRepository.findStreamReplay(deviceId, lastId, since, Limit.of(replayBufferSize)));
+        } catch (RuntimeException e) {
+            log.warn("Could not load realtime logs after {} for stream resume", lastId, e);
+            return List.of();
+        }
+    }
+    
+    // Only UUIDv7 ids carry the time order resuming relies on; anything else starts a fresh stream
+    private static UUID parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            UUID id = UUID.fromString(lastEventId.trim());
+            return id.version() == 7 ? id : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    // Unsigned byte order, the same as PostgreSQL uuid ordering (UUID.compareTo is signed)
+    private static int compareIds(UUID left, UUID right) {
+        int result = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return result != 0 ? result
+                : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+    
+    /**
+     * Dispatcher thread: queues the event for the subscriber, disconnecting it when its outbox is full
+     */
+    private boolean enqueue(Subscriber subscriber, StreamEvent event) {
+        if (!subscriber.outbox.offer(event)) {
+            log.warn("Realtime log subscriber is {} events behind, disconnecting it", subscriberQueueSize);
+            close(subscriber);
+            return false;
+        }
+        scheduleDrain(subscriber);
+        return true;
+    }
+    
+    private void close(Subscriber subscriber) {
+        subscriber.closing = true;
+        subscriber.outbox.clear();
+        scheduleDrain(subscriber);
+    }
+    
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException ex) {
+            subscriber.draining.set(false);
+        }
+    }
+    
+    /**
+     * Sender thread: writes queued events until the outbox is empty; completes the emitter once closing
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            StreamEvent event;
+            while (!subscriber.closing && (event = subscriber.outbox.poll()) != null) {
+                if (!send(subscriber, event)) {
+                    dispatch(() -> subscribers.remove(subscriber));
+                    return;
+                }
+            }
+            if (subscriber.closing) {
+                // draining stays set: nothing is sent to this emitter any more
+                subscriber.emitter.complete();
+                return;
+            }
+            subscriber.draining.set(false);
+        } while ((subscriber.closing || !subscriber.outbox.isEmpty())
+                && subscriber.draining.compareAndSet(false, true));
+    }
+    
+    private boolean send(Subscriber subscriber, StreamEvent event) {
+        try {
+            if (event == PING) {
+                subscriber.emitter.send(SseEmitter.event().comment("ping"));
+            } else {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(event.id.toString())
+                        .name(EVENT_NAME)
+                        .data(event.log));
+            }
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            subscriber.closing = true;
+            subscriber.emitter.completeWithError(ex);
+            return false;
+        }
+    }
+    
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException ex) {
+            log.warn("Realtime log stream queue is full or stopped, event dropped");
+        }
+    }
+    
+    private static class StreamEvent {
+        private final UUID id; // realtime_logs id, null for the heartbeat
+        private final RealtimeLogResponse log;
+        
+        private StreamEvent(RealtimeLogResponse log) {
+            this.id = log != null ? log.getId() : null;
+            this.log = log;
+        }
+    }
+    
+    private static class Subscriber {
+        private final UUID deviceId; // null = shop-wide
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> outbox;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closing;
+        // Ids sent while resuming, accessed only from the dispatcher thread
+        private final Set<UUID> replayed = new HashSet<>();
+        
+        private Subscriber(UUID deviceId, SseEmitter emitter, int queueSize) {
+            this.deviceId = deviceId;
+            this.emitter = emitter;
+            this.outbox = new ArrayBlockingQueue<>(queueSize);
+        }
+        
+        private boolean accepts(StreamEvent event) {
+            return deviceId == null || deviceId.equals(event.log.getDeviceId());
+        }
+    }
+}
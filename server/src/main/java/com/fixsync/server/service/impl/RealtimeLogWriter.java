@@ -0,0 +1,214 @@
+package com.fixsync.server.service.impl;
+
+import com.fixsync.server.dto.response.RealtimeLogResponse;
+import com.fixsync.server.dto.response.UserResponse;
+import com.fixsync.server.entity.User;
+import com.fixsync.server.entity.enums.ActionType;
+import com.fixsync.server.mapper.UserMapper;
+import com.fixsync.server.repository.UserRepository;
+import com.fixsync.server.service.RealtimeLogStreamService;
+import com.fixsync.server.util.UuidV7;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Background writer for realtime logs.
+ * <p>
+ * Entries are queued after the caller's transaction commits and written by one worker thread
+ * as multi-row INSERTs, so audit logging adds no latency or lock time to device writes.
+ * The queue is bounded: when it stays full, the producer writes its own entry synchronously (backpressure).
+ * Remaining entries are flushed on shutdown.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RealtimeLogWriter {
+    
+    private static final String INSERT_PREFIX =
+            "INSERT INTO realtime_logs (id, device_id, action, detail, created_by, created_at, updated_at, version) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, 0)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final RealtimeLogStreamService realtimeLogStreamService;
+    
+    @Value("${realtime.log-writer.queue-capacity:10000}")
+    private int queueCapacity;
+    
+    @Value("${realtime.log-writer.batch-size:200}")
+    private int batchSize;
+    
+    @Value("${realtime.log-writer.flush-interval-ms:200}")
+    private long flushIntervalMs;
+    
+    @Value("${realtime.log-writer.offer-timeout-ms:500}")
+    private long offerTimeoutMs;
+    
+    private BlockingQueue<PendingLog> queue;
+    private Thread worker;
+    private volatile boolean running;
+    
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        worker = new Thread(this::run, "realtime-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    public void enqueue(UUID deviceId, ActionType action, String detail, UUID createdById) {
+        PendingLog entry = new PendingLog(UuidV7.generate(), deviceId, action, detail, createdById, Instant.now());
+        try {
+            if (running && queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Queue full or writer stopped: write on the caller thread instead of dropping the entry
+        log.warn("Realtime log queue is full, writing log for device {} synchronously", deviceId);
+        write(List.of(entry));
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        flushRemaining();
+    }
+    
+    private void run() {
+        List<PendingLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                // Shutdown requested, remaining entries are flushed by shutdown()
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Realtime log writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    private void flushRemaining() {
+        List<PendingLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+    
+    private void write(List<PendingLog> batch) {
+        List<PendingLog> written;
+        long start = System.nanoTime();
+        try {
+            insert(batch);
+            written = batch;
+            log.debug("Wrote {} realtime logs in {} ms", batch.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            // One bad row (e.g. device deleted meanwhile) must not drop the whole batch
+            log.warn("Batch insert of {} realtime logs failed, retrying row by row", batch.size(), e);
+            written = new ArrayList<>(batch.size());
+            for (PendingLog entry : batch) {
+                try {
+                    insert(List.of(entry));
+                    written.add(entry);
+                } catch (RuntimeException rowError) {
+                    log.error("Could not write realtime log for device {}", entry.getDeviceId(), rowError);
+                }
+            }
+        }
+        publish(written);
+    }
+    
+    private void insert(List<PendingLog> batch) {
+        String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(batch.size(), INSERT_ROW));
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            int index = 1;
+            for (PendingLog entry : batch) {
+                ps.setObject(index++, entry.getId());
+                ps.setObject(index++, entry.getDeviceId());
+                ps.setString(index++, entry.getAction().name());
+                ps.setString(index++, entry.getDetail());
+                ps.setObject(index++, entry.getCreatedById());
+                // Raw JDBC skips hibernate.jdbc.time_zone, so bind the UTC wall clock Hibernate would have written
+                LocalDateTime createdAtUtc = LocalDateTime.ofInstant(entry.getCreatedAt(), ZoneOffset.UTC);
+                ps.setObject(index++, createdAtUtc);
+                ps.setObject(index++, createdAtUtc);
+            }
+            return ps;
+        });
+    }
+    
+    private void publish(List<PendingLog> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+        try {
+            Set<UUID> userIds = written.stream().map(PendingLog::getCreatedById).collect(Collectors.toSet());
+            Map<UUID, UserResponse> users = userRepository.findAllById(userIds).stream()
+                    .collect(Collectors.toMap(User::getId, userMapper::toResponse, (a, b) -> a));
+            for (PendingLog entry : written) {
+                realtimeLogStreamService.publish(RealtimeLogResponse.builder()
+                        .id(entry.getId())
+                        .deviceId(entry.getDeviceId())
+                        .action(entry.getAction())
+                        .detail(entry.getDetail())
+                        .createdBy(users.get(entry.getCreatedById()))
+                        .createdAt(LocalDateTime.ofInstant(entry.getCreatedAt(), ZoneId.systemDefault()))
+                        .build());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not publish {} realtime logs to stream", written.size(), e);
+        }
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    private static class PendingLog {
+        private final UUID id;
+        private final UUID deviceId;
+        private final ActionType action;
+        private final String detail;
+        private final UUID createdById;
+        private final Instant createdAt;
+    }
+}
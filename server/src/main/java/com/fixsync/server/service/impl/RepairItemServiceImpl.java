@@ -3,8 +3,10 @@ package com.fixsync.server.service.impl;
 import com.fixsync.server.dto.request.RepairItemRequest;
 import com.fixsync.server.dto.response.PageResponse;
 import com.fixsync.server.dto.response.RepairItemResponse;
+import com.fixsync.server.dto.response.ServiceCatalogResponse;
 import com.fixsync.server.entity.Device;
 import com.fixsync.server.entity.RepairItem;
+import com.fixsync.server.entity.RepairSession;
 import com.fixsync.server.entity.ServiceCatalog;
 import com.fixsync.server.exception.ResourceNotFoundException;
 import com.fixsync.server.mapper.RepairItemMapper;
@@ -12,6 +14,7 @@ import com.fixsync.server.repository.DeviceRepository;
 import com.fixsync.server.repository.RepairItemRepository;
 import com.fixsync.server.repository.RepairSessionRepository;
 import com.fixsync.server.repository.ServiceCatalogRepository;
+import com.fixsync.server.service.CatalogCacheService;
 import com.fixsync.server.service.RepairItemService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -19,8 +22,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,6 +40,7 @@ public class RepairItemServiceImpl implements RepairItemService {
     private final ServiceCatalogRepository serviceCatalogRepository;
     private final RepairSessionRepository repairSessionRepository;
     private final RepairItemMapper repairItemMapper;
+    private final CatalogCacheService catalogCacheService;
     
     @Override
     @Transactional
@@ -39,50 +48,63 @@ public class RepairItemServiceImpl implements RepairItemService {
         Device device = deviceRepository.findById(request.getDeviceId())
                 .orElseThrow(() -> new ResourceNotFoundException("Thiết bị", "id", request.getDeviceId()));
 
-        ServiceCatalog serviceCatalog = null;
-        if (request.getServiceId() != null) {
-            serviceCatalog = serviceCatalogRepository.findById(request.getServiceId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Dịch vụ", "id", request.getServiceId()));
-        } else if (request.getServiceName() != null && !request.getServiceName().isBlank()) {
-            serviceCatalog = serviceCatalogRepository.findByNameIgnoreCase(request.getServiceName()).orElse(null);
-        }
-        
-        RepairItem repairItem = repairItemMapper.toEntity(request);
-        repairItem.setDevice(device);
-        repairItem.setServiceCatalog(serviceCatalog);
-
         // Attach to specified repair session or latest of device
-        var session = request.getRepairSessionId() != null
+        RepairSession session = request.getRepairSessionId() != null
                 ? repairSessionRepository.findById(request.getRepairSessionId())
                     .orElseThrow(() -> new ResourceNotFoundException("Phiên sửa chữa", "id", request.getRepairSessionId()))
-                : repairSessionRepository.findTopByDeviceIdOrderByCreatedAtDesc(device.getId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Phiên sửa chữa", "deviceId", device.getId()));
-        repairItem.setRepairSession(session);
+                : latestSession(device.getId());
 
-        // Autofill from service catalog if available (by id or matched name)
-        if (serviceCatalog != null) {
-            repairItem.setServiceName(serviceCatalog.getName());
-            if (repairItem.getPartUsed() == null || repairItem.getPartUsed().isBlank()) {
-                repairItem.setPartUsed(serviceCatalog.getDefaultPartUsed());
+        ServiceCatalogResponse serviceCatalog = resolveServiceCatalog(request);
+        RepairItem repairItem = repairItemRepository.save(newRepairItem(request, device, session, serviceCatalog));
+        
+        return toResponse(repairItem, serviceCatalog);
+    }
+    
+    @Override
+    @Transactional
+    public List<RepairItemResponse> createRepairItems(List<RepairItemRequest> requests) {
+        // Devices and given sessions in one query each, the latest session once per device
+        Map<UUID, Device> devices = deviceRepository.findAllById(requests.stream()
+                        .map(RepairItemRequest::getDeviceId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Device::getId, Function.identity()));
+        Map<UUID, RepairSession> sessions = repairSessionRepository.findAllById(requests.stream()
+                        .map(RepairItemRequest::getRepairSessionId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(RepairSession::getId, Function.identity()));
+        Map<UUID, RepairSession> latestSessions = new HashMap<>();
+        
+        List<RepairItem> repairItems = new ArrayList<>(requests.size());
+        List<ServiceCatalogResponse> serviceCatalogs = new ArrayList<>(requests.size());
+        for (RepairItemRequest request : requests) {
+            Device device = devices.get(request.getDeviceId());
+            if (device == null) {
+                throw new ResourceNotFoundException("Thiết bị", "id", request.getDeviceId());
             }
-            if (repairItem.getCost() == null) {
-                repairItem.setCost(serviceCatalog.getBaseCost());
+            RepairSession session;
+            if (request.getRepairSessionId() != null) {
+                session = sessions.get(request.getRepairSessionId());
+                if (session == null) {
+                    throw new ResourceNotFoundException("Phiên sửa chữa", "id", request.getRepairSessionId());
+                }
+            } else {
+                session = latestSessions.computeIfAbsent(device.getId(), this::latestSession);
             }
-            if (repairItem.getWarrantyMonths() == null) {
-                repairItem.setWarrantyMonths(serviceCatalog.getDefaultWarrantyMonths());
-            }
-        }
-
-        // If still missing serviceName or cost, throw
-        if (repairItem.getServiceName() == null || repairItem.getServiceName().isBlank()) {
-            throw new ResourceNotFoundException("Tên dịch vụ", "serviceName", null);
-        }
-        if (repairItem.getCost() == null) {
-            throw new ResourceNotFoundException("Chi phí", "cost", null);
+            ServiceCatalogResponse serviceCatalog = resolveServiceCatalog(request);
+            repairItems.add(newRepairItem(request, device, session, serviceCatalog));
+            serviceCatalogs.add(serviceCatalog);
         }
-        repairItem = repairItemRepository.save(repairItem);
         
-        return repairItemMapper.toResponse(repairItem);
+        // Inserted at flush as JDBC batches (hibernate.jdbc.batch_size), all or nothing
+        List<RepairItem> saved = repairItemRepository.saveAll(repairItems);
+        List<RepairItemResponse> responses = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            responses.add(toResponse(saved.get(i), serviceCatalogs.get(i)));
+        }
+        return responses;
     }
     
     @Override
@@ -103,17 +125,8 @@ public class RepairItemServiceImpl implements RepairItemService {
             repairItem.setRepairSession(session);
         }
 
-        ServiceCatalog serviceCatalog = null;
-        if (request.getServiceId() != null) {
-            serviceCatalog = serviceCatalogRepository.findById(request.getServiceId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Dịch vụ", "id", request.getServiceId()));
-            repairItem.setServiceCatalog(serviceCatalog);
-        } else if (request.getServiceName() != null && !request.getServiceName().isBlank()) {
-            serviceCatalog = serviceCatalogRepository.findByNameIgnoreCase(request.getServiceName()).orElse(null);
-            repairItem.setServiceCatalog(serviceCatalog);
-        } else {
-            repairItem.setServiceCatalog(null);
-        }
+        ServiceCatalogResponse serviceCatalog = resolveServiceCatalog(request);
+        repairItem.setServiceCatalog(serviceCatalogReference(serviceCatalog));
         
         repairItemMapper.updateEntity(repairItem, request);
 
@@ -151,7 +164,7 @@ public class RepairItemServiceImpl implements RepairItemService {
         }
         repairItem = repairItemRepository.save(repairItem);
         
-        return repairItemMapper.toResponse(repairItem);
+        return toResponse(repairItem, serviceCatalog);
     }
     
     @Override
@@ -216,8 +229,73 @@ public class RepairItemServiceImpl implements RepairItemService {
         Integer total = repairItemRepository.sumCostByDeviceId(deviceId);
         return total != null ? total : 0;
     }
-}
-
-
+    
+    /**
+     * Unsaved repair item for the request, autofilled from the service catalog (by id or matched name)
+     */
+    private RepairItem newRepairItem(RepairItemRequest request, Device device, RepairSession session,
+                                     ServiceCatalogResponse serviceCatalog) {
+        RepairItem repairItem = repairItemMapper.toEntity(request);
+        repairItem.setDevice(device);
+        repairItem.setServiceCatalog(serviceCatalogReference(serviceCatalog));
+        repairItem.setRepairSession(session);
 
+        if (serviceCatalog != null) {
+            repairItem.setServiceName(serviceCatalog.getName());
+            if (repairItem.getPartUsed() == null || repairItem.getPartUsed().isBlank()) {
+                repairItem.setPartUsed(serviceCatalog.getDefaultPartUsed());
+            }
+            if (repairItem.getCost() == null) {
+                repairItem.setCost(serviceCatalog.getBaseCost());
+            }
+            if (repairItem.getWarrantyMonths() == null) {
+                repairItem.setWarrantyMonths(serviceCatalog.getDefaultWarrantyMonths());
+            }
+        }
 
+        // If still missing serviceName or cost, throw
+        if (repairItem.getServiceName() == null || repairItem.getServiceName().isBlank()) {
+            throw new ResourceNotFoundException("Tên dịch vụ", "serviceName", null);
+        }
+        if (repairItem.getCost() == null) {
+            throw new ResourceNotFoundException("Chi phí", "cost", null);
+        }
+        return repairItem;
+    }
+    
+    private RepairSession latestSession(UUID deviceId) {
+        return repairSessionRepository.findTopByDeviceIdOrderByCreatedAtDesc(deviceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Phiên sửa chữa", "deviceId", deviceId));
+    }
+    
+    /**
+     * Catalog entry for the request (by id, else by matched name), served from the catalog cache
+     */
+    private ServiceCatalogResponse resolveServiceCatalog(RepairItemRequest request) {
+        if (request.getServiceId() != null) {
+            return catalogCacheService.getService(request.getServiceId());
+        }
+        if (request.getServiceName() != null && !request.getServiceName().isBlank()) {
+            return catalogCacheService.findServiceByName(request.getServiceName()).orElse(null);
+        }
+        return null;
+    }
+    
+    /**
+     * Response for an item whose serviceCatalog was set from the cache: the catalog fields come from the
+     * cached entry, so the reference proxy is never initialized
+     */
+    private RepairItemResponse toResponse(RepairItem repairItem, ServiceCatalogResponse serviceCatalog) {
+        RepairItemResponse response = repairItemMapper.toResponseWithoutCatalog(repairItem);
+        if (serviceCatalog != null) {
+            response.setServiceId(serviceCatalog.getId());
+            response.setServiceDescription(serviceCatalog.getDescription());
+        }
+        return response;
+    }
+    
+    // The association only needs the id, a reference avoids loading the row again
+    private ServiceCatalog serviceCatalogReference(ServiceCatalogResponse serviceCatalog) {
+        return serviceCatalog != null ? serviceCatalogRepository.getReferenceById(serviceCatalog.getId()) : null;
+    }
+}
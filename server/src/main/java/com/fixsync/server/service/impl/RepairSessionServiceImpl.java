@@ -1,6 +1,7 @@
 package com.fixsync.server.service.impl;
 
 import com.fixsync.server.dto.request.RepairSessionRequest;
+import com.fixsync.server.dto.response.CursorResponse;
 import com.fixsync.server.dto.response.DeviceResponse;
 import com.fixsync.server.dto.response.PageResponse;
 import com.fixsync.server.dto.response.RepairSessionResponse;
@@ -18,9 +19,11 @@ import com.fixsync.server.repository.DeviceRepository;
 import com.fixsync.server.repository.RepairSessionRepository;
 import com.fixsync.server.repository.UserRepository;
 import com.fixsync.server.service.RepairSessionService;
+import com.fixsync.server.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -136,6 +139,28 @@ public class RepairSessionServiceImpl implements RepairSessionService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<RepairSessionResponse> getAllSessions(String after, int size) {
+        Window<RepairSession> sessions = repairSessionRepository.findAllBy(
+                KeysetCursor.decode(after), KeysetCursor.limit(size), KeysetCursor.SORT);
+        List<RepairSessionResponse> responses = sessions.getContent().stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return KeysetCursor.toResponse(sessions, responses);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<RepairSessionResponse> getSessionsByDevice(UUID deviceId, String after, int size) {
+        Window<RepairSession> sessions = repairSessionRepository.findByDeviceId(
+                deviceId, KeysetCursor.decode(after), KeysetCursor.limit(size), KeysetCursor.SORT);
+        List<RepairSessionResponse> responses = sessions.getContent().stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return KeysetCursor.toResponse(sessions, responses);
+    }
+
     /**
      * Map RepairSession to RepairSessionResponse with full device information
      */
@@ -2,20 +2,38 @@ package com.fixsync.server.service.impl;
 
 import com.fixsync.server.config.S3Config;
 import com.fixsync.server.service.S3Service;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -23,10 +41,34 @@ import java.time.Duration;
 @RequiredArgsConstructor
 public class S3ServiceImpl implements S3Service {
     
+    private static final int MAX_PARTS = 10_000;
+    private static final Duration PART_RETRY_BACKOFF = Duration.ofMillis(500);
+    private static final Duration PART_BUFFER_WAIT = Duration.ofMinutes(2);
+    
     private final S3Client s3Client;
     private final S3Presigner s3Presigner;
     private final S3Config s3Config;
     
+    private Semaphore partBuffers;
+    private ExecutorService partUploadExecutor;
+    
+    @PostConstruct
+    public void init() {
+        int maxBufferedParts = Math.max(1, s3Config.getS3().getMaxBufferedParts());
+        partBuffers = new Semaphore(maxBufferedParts);
+        AtomicInteger threadCount = new AtomicInteger();
+        partUploadExecutor = Executors.newFixedThreadPool(maxBufferedParts, runnable -> {
+            Thread thread = new Thread(runnable, "s3-part-upload-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        partUploadExecutor.shutdown();
+    }
+    
     @Override
     public String uploadFile(String key, MultipartFile file, String contentType) {
         try {
@@ -47,6 +89,186 @@ public class S3ServiceImpl implements S3Service {
         }
     }
     
+    /**
+     * Reads the stream one part at a time and uploads parts concurrently; a body smaller than one part
+     * becomes a single putObject. Every part buffer holds a permit of a shared semaphore, so memory stays
+     * at partSize * maxBufferedParts however many uploads run. Failed parts are retried, and the
+     * multipart upload is aborted if the stream or any part fails.
+     */
+    @Override
+    public long uploadStream(String key, InputStream inputStream, String contentType) {
+        int partSize = s3Config.getS3().getPartSize();
+        acquirePartBuffer();
+        byte[] firstPart;
+        try {
+            firstPart = inputStream.readNBytes(partSize);
+        } catch (IOException e) {
+            partBuffers.release();
+            throw new RuntimeException("Failed to read upload stream: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            partBuffers.release();
+            throw e;
+        }
+        
+        if (firstPart.length < partSize) {
+            try {
+                PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                        .bucket(s3Config.getBucketName())
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength((long) firstPart.length)
+                        .build();
+                
+                s3Client.putObject(putObjectRequest, partBody(firstPart));
+                log.info("File uploaded to S3: {}", key);
+                return firstPart.length;
+            } catch (Exception e) {
+                log.error("Error uploading file to S3: {}", key, e);
+                throw new RuntimeException("Failed to upload file to S3: " + e.getMessage(), e);
+            } finally {
+                partBuffers.release();
+            }
+        }
+        return uploadMultipart(key, inputStream, contentType, firstPart);
+    }
+    
+    private long uploadMultipart(String key, InputStream inputStream, String contentType, byte[] firstPart) {
+        CreateMultipartUploadRequest createRequest = CreateMultipartUploadRequest.builder()
+                .bucket(s3Config.getBucketName())
+                .key(key)
+                .contentType(contentType)
+                .build();
+        String uploadId;
+        try {
+            uploadId = s3Client.createMultipartUpload(createRequest).uploadId();
+        } catch (Exception e) {
+            partBuffers.release();
+            log.error("Error starting multipart upload to S3: {}", key, e);
+            throw new RuntimeException("Failed to upload file to S3: " + e.getMessage(), e);
+        }
+        
+        List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long totalBytes = 0;
+        try {
+            byte[] part = firstPart;
+            int partNumber = 1;
+            // The permit for the current buffer is handed to its upload task, which releases it
+            while (part.length > 0) {
+                if (partNumber > MAX_PARTS) {
+                    partBuffers.release();
+                    throw new IllegalStateException("Upload exceeds " + MAX_PARTS + " parts");
+                }
+                totalBytes += part.length;
+                byte[] data = part;
+                int number = partNumber++;
+                parts.add(CompletableFuture
+                        .supplyAsync(() -> uploadPart(key, uploadId, number, data), partUploadExecutor)
+                        .whenComplete((completed, error) -> {
+                            partBuffers.release();
+                            if (error != null) {
+                                failure.compareAndSet(null, error);
+                            }
+                        }));
+                
+                if (failure.get() != null) {
+                    break;
+                }
+                acquirePartBuffer();
+                try {
+                    part = inputStream.readNBytes(s3Config.getS3().getPartSize());
+                } catch (IOException | RuntimeException e) {
+                    partBuffers.release();
+                    throw e;
+                }
+                if (part.length == 0) {
+                    partBuffers.release();
+                }
+            }
+            
+            CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new)).join();
+            List<CompletedPart> completedParts = parts.stream().map(CompletableFuture::join).toList();
+            
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(s3Config.getBucketName())
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+            
+            log.info("File uploaded to S3 in {} parts: {}", completedParts.size(), key);
+            return totalBytes;
+        } catch (Exception e) {
+            abortMultipartUpload(key, uploadId, parts);
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException runtimeException && !(cause instanceof SdkException)) {
+                throw runtimeException;
+            }
+            log.error("Error uploading file to S3: {}", key, cause);
+            throw new RuntimeException("Failed to upload file to S3: " + cause.getMessage(), cause);
+        }
+    }
+    
+    private CompletedPart uploadPart(String key, String uploadId, int partNumber, byte[] data) {
+        UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+                .bucket(s3Config.getBucketName())
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength((long) data.length)
+                .build();
+        
+        int maxAttempts = Math.max(1, s3Config.getS3().getPartMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                String eTag = s3Client.uploadPart(uploadPartRequest, partBody(data)).eTag();
+                return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+            } catch (SdkException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.warn("Retrying part {} of {} (attempt {}/{}): {}", partNumber, key, attempt, maxAttempts, e.getMessage());
+                try {
+                    Thread.sleep(PART_RETRY_BACKOFF.toMillis() * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    private void abortMultipartUpload(String key, String uploadId, List<CompletableFuture<CompletedPart>> parts) {
+        // Let in-flight parts settle first, a part finishing after the abort would be stored again
+        CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new)).handle((result, error) -> null).join();
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(s3Config.getBucketName())
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            log.info("Multipart upload aborted: {}", key);
+        } catch (Exception e) {
+            log.warn("Could not abort multipart upload {} of {}", uploadId, key, e);
+        }
+    }
+    
+    private void acquirePartBuffer() {
+        try {
+            if (!partBuffers.tryAcquire(PART_BUFFER_WAIT.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Upload capacity exhausted, please retry later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for upload capacity", e);
+        }
+    }
+    
+    private RequestBody partBody(byte[] data) {
+        // Replayable for retries and, unlike RequestBody.fromBytes, does not copy the buffer
+        return RequestBody.fromContentProvider(() -> new ByteArrayInputStream(data), data.length, "application/octet-stream");
+    }
+    
     @Override
     public InputStream downloadFile(String key) {
         try {
@@ -62,6 +284,22 @@ public class S3ServiceImpl implements S3Service {
         }
     }
     
+    @Override
+    public InputStream downloadFile(String key, long start, long end) {
+        try {
+            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                    .bucket(s3Config.getBucketName())
+                    .key(key)
+                    .range("bytes=" + start + "-" + end)
+                    .build();
+            
+            return s3Client.getObject(getObjectRequest);
+        } catch (Exception e) {
+            log.error("Error downloading range {}-{} of file from S3: {}", start, end, key, e);
+            throw new RuntimeException("Failed to download file from S3: " + e.getMessage(), e);
+        }
+    }
+    
     @Override
     public void deleteFile(String key) {
         try {
@@ -100,8 +338,34 @@ public class S3ServiceImpl implements S3Service {
         }
     }
     
+    @Override
+    public URL generatePresignedUploadUrl(String key, String contentType, long contentLength, long expirationInMinutes) {
+        try {
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                    .bucket(s3Config.getBucketName())
+                    .key(key)
+                    .contentType(contentType)
+                    .contentLength(contentLength)
+                    .build();
+            
+            PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                    .signatureDuration(Duration.ofMinutes(expirationInMinutes))
+                    .putObjectRequest(putObjectRequest)
+                    .build();
+            
+            return s3Presigner.presignPutObject(presignRequest).url();
+        } catch (Exception e) {
+            log.error("Error generating presigned upload URL for S3: {}", key, e);
+            throw new RuntimeException("Failed to generate presigned upload URL: " + e.getMessage(), e);
+        }
+    }
+    
     @Override
     public String getFileUrl(String key) {
+        if (s3Config.hasEndpoint()) {
+            // S3-compatible endpoint (path-style)
+            return String.format("%s/%s/%s", s3Config.getEndpoint().replaceAll("/+$", ""), s3Config.getBucketName(), key);
+        }
         // Return AWS S3 standard URL
         return String.format("https://%s.s3.%s.amazonaws.com/%s", 
                 s3Config.getBucketName(), s3Config.getRegion(), key);
@@ -124,5 +388,43 @@ public class S3ServiceImpl implements S3Service {
             return false;
         }
     }
+    
+    @Override
+    public Optional<HeadObjectResponse> headFile(String key) {
+        try {
+            HeadObjectRequest headObjectRequest = HeadObjectRequest.builder()
+                    .bucket(s3Config.getBucketName())
+                    .key(key)
+                    .build();
+            
+            return Optional.of(s3Client.headObject(headObjectRequest));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (Exception e) {
+            log.error("Error reading metadata of file in S3: {}", key, e);
+            throw new RuntimeException("Failed to read file metadata from S3: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public boolean isBucketAccessible() {
+        try {
+            s3Client.headBucket(HeadBucketRequest.builder()
+                    .bucket(s3Config.getBucketName())
+                    .build());
+            return true;
+        } catch (Exception e) {
+            log.warn("S3 bucket {} is not accessible: {}", s3Config.getBucketName(), e.getMessage());
+            return false;
+        }
+    }
+    
+    @Override
+    public Stream<S3Object> listObjects(String prefix) {
+        ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
+                .bucket(s3Config.getBucketName())
+                .prefix(prefix)
+                .build();
+        return s3Client.listObjectsV2Paginator(listRequest).contents().stream();
+    }
 }
-
@@ -0,0 +1,143 @@
+package com.fixsync.server.service.impl;
+
+import com.fixsync.server.config.S3Config;
+import com.fixsync.server.dto.response.StorageHealthResponse;
+import com.fixsync.server.entity.enums.EntityType;
+import com.fixsync.server.service.S3Service;
+import com.fixsync.server.service.StorageBackend;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * S3 (or S3-compatible) storage. Keys follow entityType/entityId/storedFilename.
+ * <p>
+ * Direct URLs are object URLs, or with {@code aws.s3.presigned-urls} presigned GETs cached per key and reused
+ * for most of their lifetime, so a page of photos is signed once and the browser gets stable, cacheable URLs.
+ */
+@Component
+@ConditionalOnProperty(name = "file.upload.storage-type", havingValue = "s3")
+@RequiredArgsConstructor
+public class S3StorageBackend implements StorageBackend {
+    
+    private final S3Service s3Service;
+    private final S3Config s3Config;
+    
+    private final ConcurrentHashMap<String, CachedUrl> presignedUrls = new ConcurrentHashMap<>();
+    
+    @Override
+    public String getType() {
+        return "s3";
+    }
+    
+    @Override
+    public String newKey(EntityType entityType, UUID entityId, String storedFilename) {
+        // Generate S3 key: entityType/entityId/filename
+        // Example: DEVICE/123e4567-e89b-12d3-a456-426614174000/abc123.jpg
+        if (entityType != null && entityId != null) {
+            return String.format("%s/%s/%s", entityType.name(), entityId, storedFilename);
+        }
+        return String.format("other/%s", storedFilename);
+    }
+    
+    @Override
+    public long store(String key, InputStream inputStream, String contentType) {
+        return s3Service.uploadStream(key, inputStream, contentType);
+    }
+    
+    @Override
+    public InputStream open(String key) {
+        return s3Service.downloadFile(key);
+    }
+    
+    @Override
+    public InputStream open(String key, long start, long end) {
+        return s3Service.downloadFile(key, start, end);
+    }
+    
+    @Override
+    public Optional<StoredObject> stat(String key) {
+        return s3Service.headFile(key)
+                .map(object -> new StoredObject(object.contentLength(), object.contentType()));
+    }
+    
+    @Override
+    public void delete(String key) {
+        s3Service.deleteFile(key);
+    }
+    
+    @Override
+    public Stream<ListedObject> list() {
+        // Only the prefixes newKey() writes to, the bucket may hold other data. Each prefix ends in '/',
+        // so listing them one after another in KEY_ORDER keeps the whole listing in KEY_ORDER.
+        return Stream.concat(Arrays.stream(EntityType.values()).map(EntityType::name), Stream.of("other"))
+                .map(prefix -> prefix + "/")
+                .sorted(KEY_ORDER)
+                .flatMap(s3Service::listObjects)
+                .map(object -> new ListedObject(object.key(), object.size(), object.lastModified()));
+    }
+    
+    @Override
+    public StorageHealthResponse health() {
+        boolean up = s3Service.isBucketAccessible();
+        return StorageHealthResponse.builder()
+                .type(getType())
+                .up(up)
+                .message(up ? "Bucket " + s3Config.getBucketName() + " accessible"
+                        : "Bucket " + s3Config.getBucketName() + " not accessible")
+                .build();
+    }
+    
+    @Override
+    public Optional<String> directUrl(String key) {
+        if (!s3Config.getS3().isPresignedUrls()) {
+            return Optional.of(s3Service.getFileUrl(key));
+        }
+        
+        long now = System.currentTimeMillis();
+        CachedUrl cached = presignedUrls.get(key);
+        if (cached != null && now < cached.refreshAt()) {
+            return Optional.of(cached.url());
+        }
+        
+        long expirationMinutes = s3Config.getS3().getPresignedUrlMinutes();
+        String url = s3Service.generatePresignedUrl(key, expirationMinutes).toString();
+        // Reuse for 80% of the lifetime, a client never receives a URL that is about to expire
+        long refreshAt = now + Duration.ofMinutes(expirationMinutes).toMillis() * 4 / 5;
+        if (presignedUrls.size() >= s3Config.getS3().getPresignedUrlCacheSize()) {
+            presignedUrls.values().removeIf(entry -> entry.refreshAt() <= now);
+            if (presignedUrls.size() >= s3Config.getS3().getPresignedUrlCacheSize()) {
+                presignedUrls.clear();
+            }
+        }
+        presignedUrls.put(key, new CachedUrl(url, refreshAt));
+        return Optional.of(url);
+    }
+    
+    @Override
+    public void evictUrl(String key) {
+        presignedUrls.remove(key);
+    }
+    
+    @Override
+    public boolean supportsDirectUpload() {
+        return true;
+    }
+    
+    @Override
+    public Optional<URL> presignUpload(String key, String contentType, long contentLength, long expirationMinutes) {
+        return Optional.of(s3Service.generatePresignedUploadUrl(key, contentType, contentLength, expirationMinutes));
+    }
+    
+    private record CachedUrl(String url, long refreshAt) {
+    }
+}
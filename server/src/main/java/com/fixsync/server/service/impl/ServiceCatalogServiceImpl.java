@@ -8,7 +8,9 @@ import com.fixsync.server.exception.BadRequestException;
 import com.fixsync.server.exception.ResourceNotFoundException;
 import com.fixsync.server.mapper.ServiceCatalogMapper;
 import com.fixsync.server.repository.ServiceCatalogRepository;
+import com.fixsync.server.service.CatalogCacheService;
 import com.fixsync.server.service.ServiceCatalogService;
+import com.fixsync.server.util.TextNormalizer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -22,17 +24,21 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ServiceCatalogServiceImpl implements ServiceCatalogService {
 
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final ServiceCatalogRepository repository;
     private final ServiceCatalogMapper mapper;
+    private final CatalogCacheService catalogCacheService;
 
     @Override
     @Transactional
     public ServiceCatalogResponse create(ServiceCatalogRequest request) {
-        repository.findByNameIgnoreCase(request.getName()).ifPresent(s -> {
+        repository.findByNameNormalized(TextNormalizer.searchKey(request.getName())).ifPresent(s -> {
             throw new BadRequestException("Tên dịch vụ đã tồn tại");
         });
         ServiceCatalog entity = mapper.toEntity(request);
         entity = repository.save(entity);
+        catalogCacheService.evictServices();
         return mapper.toResponse(entity);
     }
 
@@ -42,7 +48,7 @@ public class ServiceCatalogServiceImpl implements ServiceCatalogService {
         ServiceCatalog entity = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Dịch vụ", "id", id));
 
-        repository.findByNameIgnoreCase(request.getName()).ifPresent(existing -> {
+        repository.findByNameNormalized(TextNormalizer.searchKey(request.getName())).ifPresent(existing -> {
             if (!existing.getId().equals(id)) {
                 throw new BadRequestException("Tên dịch vụ đã tồn tại");
             }
@@ -50,15 +56,13 @@ public class ServiceCatalogServiceImpl implements ServiceCatalogService {
 
         mapper.updateEntity(entity, request);
         entity = repository.save(entity);
+        catalogCacheService.evictServices();
         return mapper.toResponse(entity);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public ServiceCatalogResponse getById(UUID id) {
-        ServiceCatalog entity = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Dịch vụ", "id", id));
-        return mapper.toResponse(entity);
+        return catalogCacheService.getService(id);
     }
 
     @Override
@@ -77,9 +81,21 @@ public class ServiceCatalogServiceImpl implements ServiceCatalogService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<ServiceCatalogResponse> getActive() {
-        return mapper.toResponseList(repository.findByIsActiveTrue());
+        return catalogCacheService.getActiveServices();
+    }
+
+    @Override
+    public List<ServiceCatalogResponse> suggest(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return catalogCacheService.suggestServices(query, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+    }
+    
+    @Override
+    public String getCatalogVersion() {
+        return "services-" + catalogCacheService.getServicesVersion();
     }
 
     @Override
@@ -88,6 +104,7 @@ public class ServiceCatalogServiceImpl implements ServiceCatalogService {
         ServiceCatalog entity = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Dịch vụ", "id", id));
         repository.delete(entity);
+        catalogCacheService.evictServices();
     }
 }
 
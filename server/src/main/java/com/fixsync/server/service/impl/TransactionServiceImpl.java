@@ -1,6 +1,7 @@
 package com.fixsync.server.service.impl;
 
 import com.fixsync.server.dto.request.TransactionRequest;
+import com.fixsync.server.dto.response.CursorResponse;
 import com.fixsync.server.dto.response.PageResponse;
 import com.fixsync.server.dto.response.TransactionResponse;
 import com.fixsync.server.entity.Device;
@@ -12,9 +13,11 @@ import com.fixsync.server.repository.DeviceRepository;
 import com.fixsync.server.repository.TransactionRepository;
 import com.fixsync.server.repository.RepairSessionRepository;
 import com.fixsync.server.service.TransactionService;
+import com.fixsync.server.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -147,6 +150,14 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<TransactionResponse> getAllTransactions(String after, int size) {
+        Window<Transaction> transactions = transactionRepository.findAllBy(
+                KeysetCursor.decode(after), KeysetCursor.limit(size), KeysetCursor.SORT);
+        return KeysetCursor.toResponse(transactions, transactionMapper.toResponseList(transactions.getContent()));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Long calculateRevenue(LocalDateTime startDate, LocalDateTime endDate) {
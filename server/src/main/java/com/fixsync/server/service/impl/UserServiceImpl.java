@@ -8,6 +8,7 @@ import com.fixsync.server.exception.BadRequestException;
 import com.fixsync.server.exception.ResourceNotFoundException;
 import com.fixsync.server.mapper.UserMapper;
 import com.fixsync.server.repository.UserRepository;
+import com.fixsync.server.security.PrincipalCache;
 import com.fixsync.server.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -25,6 +26,7 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
     
     @Override
     @Transactional
@@ -50,6 +52,8 @@ public class UserServiceImpl implements UserService {
             throw new BadRequestException("Email đã tồn tại");
         }
         
+        // Email (token subject), role or password may change -> drop cached principal
+        principalCache.evict(user.getEmail());
         userMapper.updateEntity(user, request);
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
             user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
@@ -88,6 +92,7 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(UUID id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Người dùng", "id", id));
+        principalCache.evict(user.getEmail());
         userRepository.delete(user);
     }
     
@@ -108,6 +113,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("Người dùng", "id", id));
         user.setIsActive(false);
         user = userRepository.save(user);
+        principalCache.evict(user.getEmail());
         return userMapper.toResponse(user);
     }
 }
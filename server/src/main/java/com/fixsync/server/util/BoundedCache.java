@@ -0,0 +1,93 @@
+package com.fixsync.server.util;
+
+import com.fixsync.server.dto.response.CacheStatsResponse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Small in-process read-through cache: LRU bounded to maxEntries, entries expire after ttl.
+ * <p>
+ * Loads run outside the lock. A load that was in flight while the cache was invalidated is returned
+ * to its caller but not stored, so a reader that saw the old row cannot put it back after a write.
+ * Values are shared between callers and must not be modified.
+ */
+public class BoundedCache<K, V> {
+    
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long generation;
+    
+    // ttlSeconds 0 = entries never expire
+    public BoundedCache(String name, int maxEntries, long ttlSeconds) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds > 0 ? TimeUnit.SECONDS.toNanos(ttlSeconds) : Long.MAX_VALUE;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    public V get(K key, Supplier<V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.loadedAt() < ttlNanos) {
+                hits.increment();
+                return entry.value();
+            }
+            loadGeneration = generation;
+        }
+        
+        misses.increment();
+        V value = loader.get();
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.put(key, new Entry<>(value, System.nanoTime()));
+            }
+        }
+        return value;
+    }
+    
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+    
+    public CacheStatsResponse stats() {
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return CacheStatsResponse.builder()
+                .name(name)
+                .size(size)
+                .maxEntries(maxEntries)
+                .hits(hitCount)
+                .misses(missCount)
+                .evictions(evictions.sum())
+                .hitRatio(requests == 0 ? 0 : (double) hitCount / requests)
+                .build();
+    }
+    
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.fixsync.server.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GET for reference data endpoints, keyed on a catalog version.
+ * <p>
+ * The ETag is weak: the JSON envelope carries a timestamp, so equal versions are equivalent, not byte-identical.
+ * Clients must revalidate every time (no-cache), an unchanged catalog then costs one version lookup and a 304.
+ */
+public final class CatalogEtag {
+    
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+    
+    private CatalogEtag() {
+    }
+    
+    /**
+     * Sets Cache-Control and the ETag; true when the client's copy is current and a 304 has been sent
+     */
+    public static boolean checkNotModified(String version, HttpServletRequest request, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL.getHeaderValue());
+        return new ServletWebRequest(request, response).checkNotModified("W/\"" + version + "\"");
+    }
+}
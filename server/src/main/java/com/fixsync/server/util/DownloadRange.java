@@ -0,0 +1,106 @@
+package com.fixsync.server.util;
+
+import com.fixsync.server.dto.response.MediaDownload;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+/**
+ * Byte range of a media download (RFC 9110 single range with If-Range).
+ * <p>
+ * Only range-capable media (VIDEO/AUDIO) honour the Range header; malformed, multiple or stale (If-Range mismatch)
+ * ranges fall back to the full content, an unsatisfiable one is answered with 416.
+ */
+public final class DownloadRange {
+    
+    private final long start;
+    private final long end; // inclusive
+    
+    private DownloadRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+    
+    public long getStart() {
+        return start;
+    }
+    
+    public long getEnd() {
+        return end;
+    }
+    
+    public long getLength() {
+        return end - start + 1;
+    }
+    
+    /**
+     * Sets Accept-Ranges and, for a partial response, the 206 status and Content-Range.
+     * Returns the bytes to send, or null when a 416 has already been sent.
+     */
+    public static DownloadRange resolve(MediaDownload download, HttpServletRequest request,
+                                        HttpServletResponse response) {
+        long fileSize = download.getFileSize();
+        if (!download.isRangeSupported()) {
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "none");
+            return new DownloadRange(0, fileSize - 1);
+        }
+        
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        HttpRange range = requestedRange(download, request);
+        if (range == null) {
+            return new DownloadRange(0, fileSize - 1);
+        }
+        long start;
+        long end;
+        try {
+            start = range.getRangeStart(fileSize);
+            end = range.getRangeEnd(fileSize);
+        } catch (IllegalArgumentException ex) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize);
+            return null;
+        }
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileSize);
+        return new DownloadRange(start, end);
+    }
+    
+    /**
+     * Single satisfiable-or-not range to serve, or null for the full content
+     * (no Range header, If-Range mismatch, malformed or multiple ranges)
+     */
+    private static HttpRange requestedRange(MediaDownload download, HttpServletRequest request) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                if (!ifRange.equals(download.getEtag())) {
+                    return null;
+                }
+            } else {
+                long ifRangeDate;
+                try {
+                    ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+                } catch (IllegalArgumentException ex) {
+                    return null;
+                }
+                if (ifRangeDate / 1000 < download.getLastModified() / 1000) {
+                    return null;
+                }
+            }
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.fixsync.server.util;
+
+import com.fixsync.server.dto.response.CursorResponse;
+import com.fixsync.server.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor over (createdAt, id), newest first.
+ * <p>
+ * Works with any repository method of the form
+ * {@code Window<T> findAllBy...(..., ScrollPosition position, Limit limit, Sort sort)} on a BaseEntity:
+ * no OFFSET, no count query, and rows inserted meanwhile never shift the next slice.
+ * Ids are time-ordered (UUIDv7), so the id tie-break within one createdAt follows insertion order as well.
+ */
+public final class KeysetCursor {
+    
+    public static final Sort SORT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    public static final int MAX_SIZE = 100;
+    
+    private static final String CREATED_AT = "createdAt";
+    private static final String ID = "id";
+    private static final String SEPARATOR = "|";
+    
+    private KeysetCursor() {
+    }
+    
+    /**
+     * Scroll position after the given cursor; null or blank means the first slice
+     */
+    public static ScrollPosition decode(String after) {
+        if (after == null || after.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(CREATED_AT, LocalDateTime.parse(raw.substring(0, separator)));
+            keys.put(ID, UUID.fromString(raw.substring(separator + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Cursor không hợp lệ");
+        }
+    }
+    
+    public static Limit limit(int size) {
+        return Limit.of(Math.min(Math.max(size, 1), MAX_SIZE));
+    }
+    
+    public static <E, T> CursorResponse<T> toResponse(Window<E> window, List<T> content) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encode(window.positionAt(window.size() - 1))
+                : null;
+        return CursorResponse.<T>builder()
+                .content(content)
+                .size(content.size())
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .build();
+    }
+    
+    private static String encode(ScrollPosition position) {
+        Map<String, ?> keys = ((KeysetScrollPosition) position).getKeys();
+        String raw = keys.get(CREATED_AT) + SEPARATOR + keys.get(ID);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
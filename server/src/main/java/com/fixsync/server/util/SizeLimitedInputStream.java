@@ -0,0 +1,63 @@
+package com.fixsync.server.util;
+
+import com.fixsync.server.exception.BadRequestException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts bytes read from a request body and fails as soon as it exceeds the allowed size,
+ * so an oversized upload is rejected mid-stream instead of after it has been stored.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+    
+    private final long maxSize;
+    private long count;
+    
+    public SizeLimitedInputStream(InputStream in, long maxSize) {
+        super(in);
+        this.maxSize = maxSize;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            advance(1);
+        }
+        return b;
+    }
+    
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            advance(n);
+        }
+        return n;
+    }
+    
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        advance(skipped);
+        return skipped;
+    }
+    
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+    
+    private void advance(long n) {
+        count += n;
+        if (count > maxSize) {
+            throw new BadRequestException("File quá lớn. Kích thước tối đa: " + (maxSize / 1024 / 1024) + "MB");
+        }
+    }
+}
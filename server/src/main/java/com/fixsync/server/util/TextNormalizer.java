@@ -0,0 +1,53 @@
+package com.fixsync.server.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Search keys for Vietnamese text and phone numbers.
+ * <p>
+ * Must stay consistent with the SQL backfill in V12 (unaccent(lower(...)) and digits-only phone).
+ */
+public final class TextNormalizer {
+    
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D");
+    
+    private TextNormalizer() {
+    }
+    
+    /**
+     * "Nguyễn Văn Đức" -> "nguyen van duc"
+     */
+    public static String searchKey(String text) {
+        if (text == null) {
+            return null;
+        }
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        stripped = stripped.replace('đ', 'd').replace('Đ', 'D');
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+    
+    /**
+     * "+84 912-345-678" -> "0912345678"
+     */
+    public static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = NON_DIGITS.matcher(phone).replaceAll("");
+        if (digits.startsWith("84") && digits.length() == 11) {
+            return "0" + digits.substring(2);
+        }
+        return digits;
+    }
+    
+    /**
+     * Escape LIKE wildcards (PostgreSQL default escape character is backslash)
+     */
+    public static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,51 @@
+package com.fixsync.server.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Time-ordered UUIDs (RFC 9562 version 7): 48-bit Unix milliseconds, 12-bit counter, 62 random bits.
+ * <p>
+ * Ids sort by creation time and are strictly increasing within this JVM (the counter orders ids of the same
+ * millisecond), so btree inserts append to the rightmost leaf instead of splitting random pages.
+ * The random bits come from SecureRandom: ids reveal their creation time but stay unguessable.
+ */
+public final class UuidV7 {
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int MAX_COUNTER = 0xFFF;
+    // A new millisecond starts its counter below this, leaving at least 2048 ids before it overflows
+    private static final int COUNTER_SEED_BOUND = 0x800;
+    
+    private static long lastMillis;
+    private static int counter;
+    
+    private UuidV7() {
+    }
+    
+    public static UUID generate() {
+        return generate(System.currentTimeMillis());
+    }
+    
+    // Clock reading passed in so tests can pin the millisecond
+    static UUID generate(long now) {
+        long millis;
+        int sequence;
+        synchronized (UuidV7.class) {
+            if (now > lastMillis) {
+                lastMillis = now;
+                counter = RANDOM.nextInt(COUNTER_SEED_BOUND);
+            } else if (++counter > MAX_COUNTER) {
+                // Counter exhausted or clock moved back: continue in the next millisecond
+                lastMillis++;
+                counter = 0;
+            }
+            millis = lastMillis;
+            sequence = counter;
+        }
+        
+        long mostSigBits = (millis << 16) | 0x7000L | sequence;
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,11 @@
+-- Keyset (cursor) pagination: ORDER BY created_at DESC, id DESC with WHERE (created_at, id) < (?, ?)
+CREATE INDEX IF NOT EXISTS idx_devices_created_at_id ON devices(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_transactions_created_at_id ON transactions(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_repair_sessions_created_at_id ON repair_sessions(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_repair_sessions_device_created_at ON repair_sessions(device_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_media_entity_created_at ON media(entity_type, entity_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_media_uploaded_by_created_at ON media(uploaded_by, created_at DESC, id DESC);
+
+-- Superseded by the composite indexes above
+DROP INDEX IF EXISTS idx_transactions_created_at;
+DROP INDEX IF EXISTS idx_media_created_at;
@@ -0,0 +1,18 @@
+-- Indexes backing /api/devices/search (see DeviceSpecifications)
+
+-- Prefix search: LOWER(customer_name) LIKE 'x%', customer_phone LIKE 'x%'
+CREATE INDEX IF NOT EXISTS idx_devices_customer_name_lower ON devices(LOWER(customer_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_devices_customer_phone_prefix ON devices(customer_phone varchar_pattern_ops);
+
+-- Equality filters
+CREATE INDEX IF NOT EXISTS idx_devices_device_type ON devices(device_type);
+CREATE INDEX IF NOT EXISTS idx_devices_brand_lower ON devices(LOWER(brand));
+
+-- Latest session status / assignee: filter sessions first, then check they are the latest of their device
+-- (latest lookup uses idx_repair_sessions_device_created_at from V10)
+CREATE INDEX IF NOT EXISTS idx_repair_sessions_status_device ON repair_sessions(status, device_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_repair_sessions_assigned_device ON repair_sessions(assigned_to, device_id, created_at);
+
+-- Superseded by the composite indexes above
+DROP INDEX IF EXISTS idx_repair_sessions_status;
+DROP INDEX IF EXISTS idx_repair_sessions_assigned_to;
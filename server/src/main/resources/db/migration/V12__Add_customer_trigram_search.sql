@@ -0,0 +1,26 @@
+-- Fuzzy customer search with pg_trgm
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- Search keys, maintained by the application (see TextNormalizer); unaccent() is not immutable,
+-- so it cannot back a generated column or an expression index
+ALTER TABLE customers
+    ADD COLUMN name_search VARCHAR(255),
+    ADD COLUMN phone_normalized VARCHAR(20);
+
+UPDATE customers
+SET name_search = btrim(regexp_replace(lower(unaccent(name)), '\s+', ' ', 'g')),
+    phone_normalized = CASE
+        WHEN regexp_replace(phone, '\D', '', 'g') LIKE '84%' AND length(regexp_replace(phone, '\D', '', 'g')) = 11
+            THEN '0' || substr(regexp_replace(phone, '\D', '', 'g'), 3)
+        ELSE regexp_replace(phone, '\D', '', 'g')
+    END;
+
+ALTER TABLE customers
+    ALTER COLUMN name_search SET NOT NULL,
+    ALTER COLUMN phone_normalized SET NOT NULL;
+
+-- Trigram indexes serve LIKE '%x%', similarity (%) and word similarity (<%)
+CREATE INDEX idx_customers_name_search_trgm ON customers USING gin (name_search gin_trgm_ops);
+CREATE INDEX idx_customers_phone_normalized_trgm ON customers USING gin (phone_normalized gin_trgm_ops);
+CREATE INDEX idx_customers_email_trgm ON customers USING gin (LOWER(email) gin_trgm_ops);
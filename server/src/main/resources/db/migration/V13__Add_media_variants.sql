@@ -0,0 +1,3 @@
+-- Comma-separated MediaVariant keys (e.g. "thumb,medium") generated for IMAGE media;
+-- NULL until the background thumbnail pipeline has stored them next to the original
+ALTER TABLE media ADD COLUMN IF NOT EXISTS variants VARCHAR(100);
@@ -0,0 +1,24 @@
+-- Content-addressed storage: one physical object per distinct SHA-256, shared by every media row
+-- with that content. ref_count = number of active media rows pointing at it; the object is
+-- deleted when it drops to 0.
+CREATE TABLE IF NOT EXISTS media_blobs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    content_hash VARCHAR(64) NOT NULL,
+    file_path VARCHAR(500) NOT NULL,
+    file_size BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL DEFAULT 1,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_media_blobs_content_hash UNIQUE (content_hash),
+    CONSTRAINT chk_media_blobs_ref_count CHECK (ref_count >= 0)
+);
+
+CREATE TRIGGER update_media_blobs_updated_at
+    BEFORE UPDATE ON media_blobs
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
+
+-- NULL for media stored before deduplication (and for presigned uploads, which the server never reads)
+ALTER TABLE media ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+CREATE INDEX IF NOT EXISTS idx_media_content_hash ON media(content_hash) WHERE content_hash IS NOT NULL;
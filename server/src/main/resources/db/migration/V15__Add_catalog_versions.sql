@@ -0,0 +1,35 @@
+-- Change counters for the reference data tables, used as ETags by the catalog endpoints
+-- Bumped by statement triggers, so writes from any instance, migration or manual SQL are seen
+CREATE TABLE IF NOT EXISTS catalog_versions (
+    table_name VARCHAR(64) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO catalog_versions (table_name) VALUES
+('brands'),
+('device_models'),
+('service_catalog')
+ON CONFLICT (table_name) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_catalog_version()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE catalog_versions SET version = version + 1 WHERE table_name = TG_TABLE_NAME;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER trg_brands_catalog_version
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON brands
+FOR EACH STATEMENT
+EXECUTE FUNCTION bump_catalog_version();
+
+CREATE TRIGGER trg_device_models_catalog_version
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON device_models
+FOR EACH STATEMENT
+EXECUTE FUNCTION bump_catalog_version();
+
+CREATE TRIGGER trg_service_catalog_catalog_version
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON service_catalog
+FOR EACH STATEMENT
+EXECUTE FUNCTION bump_catalog_version();
@@ -0,0 +1,52 @@
+-- Normalized service name for exact, case- and accent-insensitive lookups by free-text name
+-- Maintained by the application (TextNormalizer.searchKey); unaccent() is not immutable,
+-- so, as in V12, it cannot back a generated column or an expression index
+ALTER TABLE service_catalog
+    ADD COLUMN name_normalized VARCHAR(255);
+
+UPDATE service_catalog
+SET name_normalized = btrim(regexp_replace(lower(unaccent(name)), '\s+', ' ', 'g'));
+
+-- Names that were distinct but normalize to the same key ("Thay màn hình" / "thay man  hinh")
+-- would make the unique index below fail. The oldest row of each group keeps its name; the others
+-- are renamed "<name> (2)", "<name> (3)", ... (first free suffix) rather than merged, so repair items
+-- keep pointing at the service they were created with. Each rename is reported as a NOTICE in the
+-- migration output so duplicates can be merged by hand afterwards if wanted.
+DO $$
+DECLARE
+    duplicate RECORD;
+    suffix INTEGER;
+    candidate VARCHAR(255);
+BEGIN
+    FOR duplicate IN
+        SELECT id, name
+        FROM (SELECT id, name, name_normalized,
+                     row_number() OVER (PARTITION BY name_normalized ORDER BY created_at, id) AS rn
+              FROM service_catalog) ranked
+        WHERE rn > 1
+        ORDER BY name_normalized, rn
+    LOOP
+        suffix := 2;
+        LOOP
+            candidate := left(duplicate.name, 240) || ' (' || suffix || ')';
+            EXIT WHEN NOT EXISTS (
+                SELECT 1 FROM service_catalog
+                WHERE name = candidate
+                   OR name_normalized = btrim(regexp_replace(lower(unaccent(candidate)), '\s+', ' ', 'g')));
+            suffix := suffix + 1;
+        END LOOP;
+
+        UPDATE service_catalog
+        SET name = candidate,
+            name_normalized = btrim(regexp_replace(lower(unaccent(candidate)), '\s+', ' ', 'g'))
+        WHERE id = duplicate.id;
+
+        RAISE NOTICE 'service_catalog %: renamed "%" to "%" (normalized name already used)',
+            duplicate.id, duplicate.name, candidate;
+    END LOOP;
+END $$;
+
+ALTER TABLE service_catalog
+    ALTER COLUMN name_normalized SET NOT NULL;
+
+CREATE UNIQUE INDEX uk_service_catalog_name_normalized ON service_catalog (name_normalized);
@@ -0,0 +1,6 @@
+-- IMAGE media still waiting for derivatives: NULL variants (never generated, or skipped when the
+-- thumbnail queue was full). '' marks originals that cannot be thumbnailed, so they drop out of the index.
+-- Scanned oldest first by the MediaThumbnailGenerator sweep
+CREATE INDEX IF NOT EXISTS idx_media_pending_variants
+    ON media (created_at)
+    WHERE media_type = 'IMAGE' AND variants IS NULL AND is_active = true;
@@ -0,0 +1,59 @@
+-- Catch-all partition: a log whose month has no partition yet (job not run, clock skew, backfill)
+-- is stored here instead of failing the insert. RealtimeLogPartitionJob moves these rows into their
+-- monthly partitions (drain_realtime_logs_default)
+CREATE TABLE IF NOT EXISTS realtime_logs_default PARTITION OF realtime_logs DEFAULT;
+
+-- Same contract as V9, but with a default partition PostgreSQL refuses to attach a month whose rows
+-- already sit in the default partition, so those rows are moved out and back in around the CREATE
+CREATE OR REPLACE FUNCTION create_realtime_logs_partition(month_start DATE)
+RETURNS TEXT AS $$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::DATE;
+    to_date DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'realtime_logs_' || to_char(from_date, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        DROP TABLE IF EXISTS realtime_logs_moving;
+        CREATE TEMP TABLE realtime_logs_moving (LIKE realtime_logs) ON COMMIT DROP;
+
+        WITH moved AS (
+            DELETE FROM realtime_logs_default
+            WHERE created_at >= from_date AND created_at < to_date
+            RETURNING *
+        )
+        INSERT INTO realtime_logs_moving SELECT * FROM moved;
+
+        EXECUTE format('CREATE TABLE %I PARTITION OF realtime_logs FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, from_date, to_date);
+
+        INSERT INTO realtime_logs SELECT * FROM realtime_logs_moving;
+        DROP TABLE realtime_logs_moving;
+    END IF;
+    RETURN partition_name;
+END;
+$$ language 'plpgsql';
+
+-- Creates the partitions for every month found in the default partition, returns the number of rows moved.
+-- Months whose partition exists but is detached (retention) are left in the default partition
+CREATE OR REPLACE FUNCTION drain_realtime_logs_default()
+RETURNS BIGINT AS $$
+DECLARE
+    month_start DATE;
+    before_count BIGINT;
+    after_count BIGINT;
+BEGIN
+    SELECT COUNT(*) INTO before_count FROM realtime_logs_default;
+    IF before_count = 0 THEN
+        RETURN 0;
+    END IF;
+
+    FOR month_start IN
+        SELECT DISTINCT date_trunc('month', created_at)::DATE FROM realtime_logs_default ORDER BY 1
+    LOOP
+        PERFORM create_realtime_logs_partition(month_start);
+    END LOOP;
+
+    SELECT COUNT(*) INTO after_count FROM realtime_logs_default;
+    RETURN before_count - after_count;
+END;
+$$ language 'plpgsql';
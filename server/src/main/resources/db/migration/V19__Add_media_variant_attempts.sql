@@ -0,0 +1,4 @@
+-- Failed thumbnail generations of an image. A row that keeps failing for a transient reason is given up
+-- (variants = '') after a few attempts, so it leaves idx_media_pending_variants (V17) and cannot keep
+-- the oldest-first sweep busy forever
+ALTER TABLE media ADD COLUMN IF NOT EXISTS variant_attempts INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- Customer search terms shorter than 3 characters have no trigram, so the GIN indexes of V12 cannot
+-- serve them. They are answered as a name prefix instead: under the "C" collation a btree supports
+-- LIKE 'x%' range scans and returns the rows already ordered for the LIMIT
+CREATE INDEX IF NOT EXISTS idx_customers_name_search_prefix ON customers (name_search COLLATE "C");
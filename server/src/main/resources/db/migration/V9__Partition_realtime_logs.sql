@@ -0,0 +1,72 @@
+-- Monthly range partitioning for realtime_logs
+-- Primary key must contain the partition key, so it becomes (id, created_at)
+
+-- Creates the partition holding the month of month_start (no-op if it exists), returns its name
+CREATE OR REPLACE FUNCTION create_realtime_logs_partition(month_start DATE)
+RETURNS TEXT AS $$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::DATE;
+    to_date DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'realtime_logs_' || to_char(from_date, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF realtime_logs FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, from_date, to_date);
+    END IF;
+    RETURN partition_name;
+END;
+$$ language 'plpgsql';
+
+-- Move the existing table aside
+ALTER TABLE realtime_logs RENAME TO realtime_logs_legacy;
+ALTER INDEX realtime_logs_pkey RENAME TO realtime_logs_legacy_pkey;
+DROP TRIGGER IF EXISTS update_realtime_logs_updated_at ON realtime_logs_legacy;
+DROP INDEX IF EXISTS idx_realtime_logs_device_id;
+DROP INDEX IF EXISTS idx_realtime_logs_created_by;
+DROP INDEX IF EXISTS idx_realtime_logs_created_at;
+
+CREATE TABLE realtime_logs (
+    id UUID NOT NULL,
+    device_id UUID NOT NULL,
+    action VARCHAR(50) NOT NULL,
+    detail TEXT,
+    created_by UUID NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT realtime_logs_pkey PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Partitions for existing data up to 3 months ahead (later months are created by the scheduled job)
+DO $$
+DECLARE
+    month_cursor DATE;
+    last_month DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(created_at), CURRENT_DATE))::DATE,
+           date_trunc('month', GREATEST(COALESCE(MAX(created_at), CURRENT_DATE), CURRENT_DATE) + INTERVAL '3 months')::DATE
+    INTO month_cursor, last_month
+    FROM realtime_logs_legacy;
+
+    WHILE month_cursor <= last_month LOOP
+        PERFORM create_realtime_logs_partition(month_cursor);
+        month_cursor := (month_cursor + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+INSERT INTO realtime_logs (id, device_id, action, detail, created_by, created_at, updated_at, version)
+SELECT id, device_id, action, detail, created_by, created_at, updated_at, version
+FROM realtime_logs_legacy;
+
+DROP TABLE realtime_logs_legacy;
+
+ALTER TABLE realtime_logs
+    ADD CONSTRAINT fk_realtime_logs_device FOREIGN KEY (device_id) REFERENCES devices(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_realtime_logs_created_by FOREIGN KEY (created_by) REFERENCES users(id) ON DELETE RESTRICT;
+
+-- Recent history of a device: index range scan per partition, no sort
+CREATE INDEX idx_realtime_logs_device_created_at ON realtime_logs(device_id, created_at DESC);
+CREATE INDEX idx_realtime_logs_created_by ON realtime_logs(created_by);
+
+CREATE TRIGGER update_realtime_logs_updated_at BEFORE UPDATE ON realtime_logs
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
@@ -0,0 +1,156 @@
+package com.fixsync.server;
+
+import com.fixsync.server.dto.request.DeviceSearchRequest;
+import com.fixsync.server.dto.response.PageResponse;
+import com.fixsync.server.entity.Brand;
+import com.fixsync.server.entity.Customer;
+import com.fixsync.server.entity.Device;
+import com.fixsync.server.entity.DeviceModel;
+import com.fixsync.server.entity.RepairItem;
+import com.fixsync.server.entity.RepairSession;
+import com.fixsync.server.entity.Transaction;
+import com.fixsync.server.entity.User;
+import com.fixsync.server.entity.enums.PaymentMethod;
+import com.fixsync.server.entity.enums.Role;
+import com.fixsync.server.service.DeviceService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Device list endpoints must load a page with a fixed number of SQL statements: one more device on the page
+ * must never mean one more query (per-device repair items / transaction / financials / association lookups).
+ * Counts the statements Hibernate prepares against the real schema; the seed data is rolled back.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class DeviceListQueryCountTests {
+
+    private static final int DEVICES = 20;
+    private static final Set<String> ALL_EXPANSIONS = Set.of("repairItems", "transaction");
+
+    @Autowired
+    private DeviceService deviceService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User technician;
+
+    @BeforeEach
+    void seedDevices() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        String suffix = UUID.randomUUID().toString();
+        technician = new User();
+        technician.setFullName("Query count");
+        technician.setEmail("query-count-" + suffix + "@test.local");
+        technician.setPasswordHash("x");
+        technician.setRole(Role.TECHNICIAN);
+        entityManager.persist(technician);
+
+        Customer customer = new Customer();
+        customer.setName("Query Count");
+        customer.setPhone("0900000000");
+        entityManager.persist(customer);
+
+        Brand brand = new Brand();
+        brand.setName("Query count " + suffix);
+        entityManager.persist(brand);
+
+        DeviceModel model = new DeviceModel();
+        model.setBrand(brand);
+        model.setName("Model");
+        model.setDeviceType("iPhone");
+        entityManager.persist(model);
+
+        for (int i = 0; i < DEVICES; i++) {
+            Device device = new Device();
+            device.setCustomer(customer);
+            device.setDeviceType("iPhone");
+            device.setBrandEntity(brand);
+            device.setModelEntity(model);
+            device.setCreatedBy(technician);
+            entityManager.persist(device);
+
+            RepairSession session = new RepairSession();
+            session.setDevice(device);
+            session.setAssignedTo(technician);
+            session.setCreatedBy(technician);
+            entityManager.persist(session);
+
+            RepairItem item = new RepairItem();
+            item.setDevice(device);
+            item.setRepairSession(session);
+            item.setServiceName("Thay pin");
+            item.setCost(500000);
+            entityManager.persist(item);
+
+            Transaction transaction = new Transaction();
+            transaction.setDevice(device);
+            transaction.setRepairSession(session);
+            transaction.setTotal(500000);
+            transaction.setFinalAmount(500000);
+            transaction.setPaymentMethod(PaymentMethod.CASH);
+            entityManager.persist(transaction);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void searchPageOfManyDevicesUsesAsManyStatementsAsPageOfOne() {
+        DeviceSearchRequest request = DeviceSearchRequest.builder()
+                .createdById(technician.getId())
+                .build();
+
+        long singleDevicePage = statementsFor(() ->
+                deviceService.searchDevices(request, PageRequest.of(0, 1), ALL_EXPANSIONS), 1);
+        long fullPage = statementsFor(() ->
+                deviceService.searchDevices(request, PageRequest.of(0, DEVICES), ALL_EXPANSIONS), DEVICES);
+
+        assertEquals(singleDevicePage, fullPage);
+    }
+
+    @Test
+    void listPageOfManyDevicesUsesAsManyStatementsAsPageOfOne() {
+        // Newest first: the seeded devices fill the page whatever else the database holds
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "createdAt");
+
+        long singleDevicePage = statementsFor(() ->
+                deviceService.getAllDevices(PageRequest.of(0, 1, newestFirst), ALL_EXPANSIONS), 1);
+        long fullPage = statementsFor(() ->
+                deviceService.getAllDevices(PageRequest.of(0, DEVICES, newestFirst), ALL_EXPANSIONS), DEVICES);
+
+        assertEquals(singleDevicePage, fullPage);
+    }
+
+    /**
+     * Statements prepared while loading one page from a cold persistence context
+     */
+    private long statementsFor(Supplier<PageResponse<?>> loadPage, int expectedDevices) {
+        entityManager.clear();
+        statistics.clear();
+
+        PageResponse<?> page = loadPage.get();
+
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals(expectedDevices, page.getContent().size());
+        return statements;
+    }
+}
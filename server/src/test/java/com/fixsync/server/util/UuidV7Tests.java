@@ -0,0 +1,56 @@
+package com.fixsync.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7Tests {
+
+    @Test
+    void setsVersionAndVariantBits() {
+        UUID id = UuidV7.generate();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(7, (id.getMostSignificantBits() >> 12) & 0xF);
+        assertEquals(2, id.getLeastSignificantBits() >>> 62);
+    }
+
+    @Test
+    void embedsCurrentUnixMillis() throws InterruptedException {
+        // Let the clock pass any millisecond borrowed by ids generated earlier in this JVM
+        Thread.sleep(10);
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.generate();
+        long after = System.currentTimeMillis();
+
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after,
+                "timestamp " + timestamp + " not in [" + before + ", " + after + "]");
+    }
+
+    @Test
+    void strictlyIncreasesWithinOneMillisecondAcrossCounterOverflow() {
+        // More ids than the 12-bit counter holds, all generated with the same clock reading
+        long now = System.currentTimeMillis();
+        int count = 5000;
+
+        UUID previous = UuidV7.generate(now);
+        long firstTimestamp = previous.getMostSignificantBits() >>> 16;
+        for (int i = 1; i < count; i++) {
+            UUID next = UuidV7.generate(now);
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0,
+                    "id " + i + " " + next + " is not after " + previous);
+            assertEquals(7, next.version());
+            previous = next;
+        }
+
+        // The counter overflowed at least once, so later ids moved on to the next millisecond
+        long lastTimestamp = previous.getMostSignificantBits() >>> 16;
+        assertTrue(lastTimestamp > firstTimestamp);
+        assertTrue(lastTimestamp - firstTimestamp <= (count + 0xFFF) / 0x800);
+    }
+}